@@ -1,8 +1,6 @@
 package com.chaotic_loom.game;
 
-import com.chaotic_loom.game.core.Loggers;
-import com.chaotic_loom.game.rendering.TextureManager;
-import com.chaotic_loom.game.rendering.components.ChunkMesher;
+import com.chaotic_loom.game.rendering.mesh.BakedQuad;
 import com.chaotic_loom.game.rendering.mesh.Cube;
 import com.chaotic_loom.game.rendering.texture.TextureAtlasInfo;
 import com.chaotic_loom.game.world.components.Block;
@@ -14,6 +12,7 @@ import org.joml.Vector4f;
 
 import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
 
 public class CubeModelProvider implements IBlockModelProvider {
     // Singleton instance for convenience
@@ -33,69 +32,32 @@ public class CubeModelProvider implements IBlockModelProvider {
     );
 
     @Override
-    public boolean addFaceGeometry(ChunkMesher.MeshBuildContext ctx, BlockInstance blockInstance, int x, int y, int z, Block.Face face) {
+    public void bakeFace(BlockInstance blockInstance, Block.Face face, Function<Block.Face, TextureAtlasInfo> textures, List<BakedQuad> out) {
         Block block = blockInstance.getBlock();
         Block.Direction direction = blockInstance.getDirection();
         boolean isOpaqueFace = !block.getSettings().isTransparent();
 
         // --- 1. Get Texture Atlas Info ---
-        TextureAtlasInfo atlasInfo = getTextureAtlasInfoForBlockFace(ctx.textureManager, block, face);
-        if (atlasInfo == null) {
-            Loggers.RENDERER.error("CubeModelProvider: Missing TextureAtlasInfo for block {}, face {} at [{},{},{}]. Using fallback.%n", block.getIdentifier(), face, x, y, z);
-            atlasInfo = ctx.textureManager.getTextureInfo("/textures/debug_missing.png");
-            if (atlasInfo == null) {
-                Loggers.RENDERER.error("CubeModelProvider: FATAL - Fallback texture '/textures/debug_missing.png' not found!");
-                return false; // Critical failure
-            }
-        }
-
-        // --- 2. Verify Atlas Texture ---
-        if (ctx.atlasTexture == null) {
-            ctx.atlasTexture = atlasInfo.atlasTexture();
-        } else if (ctx.atlasTexture != atlasInfo.atlasTexture()) {
-            // This should ideally not happen if TextureManager manages atlases properly
-            Loggers.RENDERER.error("CubeModelProvider: CRITICAL ERROR - Encountered multiple texture atlases! Check TextureManager setup.");
-            return false;
-        }
-
+        TextureAtlasInfo atlasInfo = textures.apply(face);
 
-        // --- 3. Determine target lists and vertex offset ---
-        List<Float> targetPositions;
-        List<Float> targetUvs;
-        List<Float> targetNormals;
-        List<Integer> targetIndices;
-        int baseVertexIndex;
-
-        if (isOpaqueFace) {
-            targetPositions = ctx.positions_opaque;
-            targetUvs = ctx.uvs_opaque;
-            targetNormals = ctx.normals_opaque;
-            targetIndices = ctx.indices_opaque;
-            baseVertexIndex = ctx.currentVertexOffset_opaque;
-            ctx.currentVertexOffset_opaque += 4;
-        } else {
-            targetPositions = ctx.positions_transparent;
-            targetUvs = ctx.uvs_transparent;
-            targetNormals = ctx.normals_transparent;
-            targetIndices = ctx.indices_transparent;
-            baseVertexIndex = ctx.currentVertexOffset_transparent;
-            ctx.currentVertexOffset_transparent += 4;
-        }
-
-        // --- 4. Get Rotation ---
+        // --- 2. Get Rotation ---
         // For a standard cube, the 'direction' usually affects texture orientation,
         // *not* the geometry itself unless it's a directional block like a furnace or log.
         // Here, we'll apply the rotation for demonstration, assuming the block *should* rotate.
         // If only texture should rotate, this logic needs adjustment (likely rotating UVs).
         Quaternionf rotation = ROTATIONS.getOrDefault(direction, new Quaternionf()); // Get rotation for the direction
 
-        // --- 5. Get Base Geometry for the Face ---
+        // --- 3. Get Base Geometry for the Face ---
         byte faceIndex = face.getFaceIndex();
         int posStartIndex = faceIndex * 12; // 4 verts * 3 floats
         int uvStartIndex = faceIndex * 8;   // 4 verts * 2 floats
         int normStartIndex = faceIndex * 12; // 4 verts * 3 floats
 
-        // --- 6. Add Rotated Vertices, UVs, Normals ---
+        // --- 4. Bake Rotated Vertices, UVs, Normals ---
+        float[] positions = new float[12];
+        float[] uvs = new float[8];
+        float[] normals = new float[12];
+
         Vector4f pos = new Vector4f(0, 0, 0, 1); // Use Vector4f for matrix multiplication
         Vector3f norm = new Vector3f();
 
@@ -117,51 +79,28 @@ public class CubeModelProvider implements IBlockModelProvider {
             rotation.transform(norm); // Rotate normal
             norm.normalize(); // Ensure normal is unit length after rotation
 
-            // Add world offset and add to list
-            targetPositions.add(pos.x + x);
-            targetPositions.add(pos.y + y);
-            targetPositions.add(pos.z + z);
-
-            // Add rotated normal to list
-            targetNormals.add(norm.x);
-            targetNormals.add(norm.y);
-            targetNormals.add(norm.z);
-
             // UVs: Get base UV (0-1 range) and map it to the atlas sub-region
             // UVs usually aren't rotated by the model's direction unless intended.
             // If UVs need rotation based on Block.Direction, add that logic here.
             float baseU = Cube.BASE_UVS[uvStartIndex + i * 2 + 0];
             float baseV = Cube.BASE_UVS[uvStartIndex + i * 2 + 1];
-            float finalU = atlasInfo.u0() + baseU * atlasInfo.getWidthUV();
-            float finalV = atlasInfo.v0() + baseV * atlasInfo.getHeightUV();
-            targetUvs.add(finalU);
-            targetUvs.add(finalV);
-        }
 
-        // --- 7. Add Indices ---
-        // Indices remain the same relative ordering for the face quad
-        targetIndices.add(baseVertexIndex + 0);
-        targetIndices.add(baseVertexIndex + 1);
-        targetIndices.add(baseVertexIndex + 2);
-        targetIndices.add(baseVertexIndex + 0);
-        targetIndices.add(baseVertexIndex + 2);
-        targetIndices.add(baseVertexIndex + 3);
+            positions[i * 3] = pos.x;
+            positions[i * 3 + 1] = pos.y;
+            positions[i * 3 + 2] = pos.z;
+            uvs[i * 2] = atlasInfo.u0() + baseU * atlasInfo.getWidthUV();
+            uvs[i * 2 + 1] = atlasInfo.v0() + baseV * atlasInfo.getHeightUV();
+            normals[i * 3] = norm.x;
+            normals[i * 3 + 1] = norm.y;
+            normals[i * 3 + 2] = norm.z;
+        }
 
-        return true; // Success
+        out.add(new BakedQuad(positions, uvs, normals, isOpaqueFace));
     }
 
-
-    private TextureAtlasInfo getTextureAtlasInfoForBlockFace(TextureManager textureManager, Block block, Block.Face face) {
-        // This logic is specific to how textures are defined in Block.Settings
-        Map<Block.Face, String> textures = block.getSettings().getFaceProperties().getTextures();
-        String texturePath = textures.get(face);
-
-        if (texturePath == null) {
-            // Maybe try a default face if specific one is missing? Or handle upstream.
-            Loggers.RENDERER.error("CubeModelProvider: Texture path is null for block {}, face {}", block.getIdentifier(), face);
-            return null;
-        }
-        return textureManager.getTextureInfo(texturePath);
+    @Override
+    public boolean isFullCube() {
+        return true;
     }
 
     @Override
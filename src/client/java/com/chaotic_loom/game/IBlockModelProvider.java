@@ -1,10 +1,14 @@
 package com.chaotic_loom.game;
 
-import com.chaotic_loom.game.rendering.components.ChunkMesher;
+import com.chaotic_loom.game.rendering.mesh.BakedQuad;
+import com.chaotic_loom.game.rendering.texture.TextureAtlasInfo;
 import com.chaotic_loom.game.world.components.Block;
 import com.chaotic_loom.game.world.components.BlockInstance;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.List;
+import java.util.function.Function;
+
 /**
  * Interface for defining how a block type renders its model,
  * handling different faces, rotations, and textures.
@@ -12,25 +16,21 @@ import org.jetbrains.annotations.Nullable;
 public interface IBlockModelProvider {
 
     /**
-     * Adds the geometry for a specific face of a block instance to the mesher's context.
-     * Implementations should handle rotation based on blockInstance.getDirection(),
-     * calculate correct texture coordinates using the atlas info obtained from
-     * the context's TextureManager, and add vertices/uvs/normals/indices
-     * to the appropriate lists (opaque or transparent) in the context.
+     * Bakes the geometry for a specific face of a block state, called once per state and face by BlockModelCache.
+     * Implementations should handle rotation based on blockInstance.getDirection() and
+     * calculate final texture coordinates from the face atlas info, the mesher copies the
+     * resulting quads as they are (only offset to the block position).
      *
-     * @param ctx The current mesh building context, providing access to geometry lists and TextureManager.
-     * @param blockInstance The specific block instance being rendered (contains type and direction).
-     * @param x The world X coordinate of the block (relative to chunk origin).
-     * @param y The world Y coordinate of the block.
-     * @param z The world Z coordinate of the block.
-     * @param face The specific face of the block model that needs to be rendered (e.g., Block.Face.TOP).
-     * @return true if the face was added successfully, false on critical error (e.g., missing fallback texture).
+     * @param blockInstance The block state being baked (contains type and direction).
+     * @param face The world face being baked (e.g., Block.Face.TOP), emitted when the neighbour on that side doesn't hide it.
+     * @param textures Resolved atlas info of each face texture of the block (never null, missing ones use the fallback texture).
+     * @param out Where to add the baked quads, positions relative to the block center.
      */
-    boolean addFaceGeometry(
-            ChunkMesher.MeshBuildContext ctx, // Pass the context
+    void bakeFace(
             BlockInstance blockInstance,
-            int x, int y, int z,
-            Block.Face face
+            Block.Face face,
+            Function<Block.Face, TextureAtlasInfo> textures,
+            List<BakedQuad> out
     );
 
     /**
@@ -51,4 +51,14 @@ public interface IBlockModelProvider {
      */
     @Nullable
     Block.Face getFaceFromNeighborOffset(int neighborDx, int neighborDy, int neighborDz);
+
+    /**
+     * Whether this model is a plain unit cube using the standard Cube face layout.
+     * Faces of full cubes may be merged by the mesher (greedy meshing) instead of using the quads from bakeFace.
+     *
+     * @return true only if every face covers the whole block side.
+     */
+    default boolean isFullCube() {
+        return false;
+    }
 }
\ No newline at end of file
@@ -1,8 +1,6 @@
 package com.chaotic_loom.game;
 
-import com.chaotic_loom.game.core.Loggers;
-import com.chaotic_loom.game.rendering.TextureManager;
-import com.chaotic_loom.game.rendering.components.ChunkMesher;
+import com.chaotic_loom.game.rendering.mesh.BakedQuad;
 import com.chaotic_loom.game.rendering.texture.TextureAtlasInfo;
 import com.chaotic_loom.game.world.components.Block;
 import com.chaotic_loom.game.world.components.BlockInstance;
@@ -14,7 +12,7 @@ import org.joml.Vector4f;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
+import java.util.function.Function;
 
 public class StairsModelProvider implements IBlockModelProvider {
 
@@ -94,8 +92,7 @@ public class StairsModelProvider implements IBlockModelProvider {
     );
 
     @Override
-    public boolean addFaceGeometry(ChunkMesher.MeshBuildContext ctx, BlockInstance blockInstance, int x, int y, int z, Block.Face face) {
-        Block block = blockInstance.getBlock();
+    public void bakeFace(BlockInstance blockInstance, Block.Face face, Function<Block.Face, TextureAtlasInfo> textures, List<BakedQuad> out) {
         Block.Direction direction = blockInstance.getDirection();
 
         if (!direction.isHorizontal()) {
@@ -105,16 +102,10 @@ public class StairsModelProvider implements IBlockModelProvider {
         Quaternionf rotation = ROTATIONS.get(direction);
         List<StairPart> partsToAdd = getPartsForFace(face, direction);
 
-        if (partsToAdd.isEmpty()) {
-            return true; // Nothing to add for this face/direction combo
-        }
-
-        boolean success = true;
+        // Every part of the face uses the texture of the world face
         for (StairPart part : partsToAdd) {
-            success &= addPartGeometry(ctx, blockInstance, x, y, z, rotation, part, face);
+            out.add(bakePart(blockInstance, rotation, part, textures.apply(face)));
         }
-
-        return success;
     }
 
     private List<StairPart> getPartsForFace(Block.Face logicalFace, Block.Direction stairDirection) {
@@ -166,58 +157,26 @@ public class StairsModelProvider implements IBlockModelProvider {
         return parts;
     }
 
-    // Adds the geometry for a single StairPart
-    private boolean addPartGeometry(ChunkMesher.MeshBuildContext ctx, BlockInstance blockInstance,
-                                    int x, int y, int z, Quaternionf rotation,
-                                    StairPart part, Block.Face textureFace) {
-
+    // Bakes the geometry for a single StairPart
+    private BakedQuad bakePart(BlockInstance blockInstance, Quaternionf rotation, StairPart part, TextureAtlasInfo atlasInfo) {
         Block block = blockInstance.getBlock();
         boolean isOpaque = !block.getSettings().isTransparent();
 
-        // --- 1. Get Texture Atlas Info ---
-        TextureAtlasInfo atlasInfo = getTextureAtlasInfoForBlockFace(ctx.textureManager, block, textureFace);
-        if (atlasInfo == null) {
-            Loggers.RENDERER.error("StairsModelProvider: Missing TextureAtlasInfo for block %s, logical face %s (part %s) at [%d,%d,%d]. Using fallback.%n",
-                    block.getIdentifier(), textureFace, part, x, y, z);
-            atlasInfo = ctx.textureManager.getTextureInfo("/textures/debug_missing.png");
-            if (atlasInfo == null) {
-                Loggers.RENDERER.error("StairsModelProvider: FATAL - Fallback texture missing!");
-                return false;
-            }
-        }
-
-        // --- 2. Verify Atlas Texture ---
-        if (ctx.atlasTexture == null) ctx.atlasTexture = atlasInfo.atlasTexture();
-        else if (ctx.atlasTexture != atlasInfo.atlasTexture()) {
-            Loggers.RENDERER.error("StairsModelProvider: Multiple atlases detected!"); return false;
-        }
-
-        // --- 3. Get Geometry Data for the Part ---
+        // --- 1. Get Geometry Data for the Part ---
         float[] positions = getPartPositions(part);
         float[] normals = getPartNormals(part);
         float[] baseUVs = getPartUVs(part);
 
         // Check if data was actually retrieved (it should be now)
         if (positions == null || normals == null || baseUVs == null) {
-            Loggers.RENDERER.error("StairsModelProvider: CRITICAL - Geometry data arrays are STILL null for part: {}", part);
-            return false; // Hard fail if data is missing now
+            throw new IllegalStateException("StairsModelProvider: Geometry data arrays are null for part: " + part);
         }
 
-        // --- 4. Determine target lists and vertex offset ---
-        List<Float> targetPositions;
-        List<Float> targetUvs;
-        List<Float> targetNormals;
-        List<Integer> targetIndices;
-        int baseVertexIndex;
-
-        // Assuming stairs are always opaque
-        targetPositions = ctx.positions_opaque;
-        targetUvs = ctx.uvs_opaque;
-        targetNormals = ctx.normals_opaque;
-        targetIndices = ctx.indices_opaque;
-        baseVertexIndex = ctx.currentVertexOffset_opaque;
-
-        // --- 5. Add Rotated Vertices, UVs, Normals for this part ---
+        // --- 2. Bake Rotated Vertices, UVs, Normals for this part ---
+        float[] bakedPositions = new float[12];
+        float[] bakedUVs = new float[8];
+        float[] bakedNormals = new float[12];
+
         Vector4f pos = new Vector4f(0, 0, 0, 1);
         Vector3f norm = new Vector3f();
 
@@ -229,37 +188,20 @@ public class StairsModelProvider implements IBlockModelProvider {
             rotation.transform(norm);
             norm.normalize(); // Ensure unit length
 
-            targetPositions.add(pos.x + x);
-            targetPositions.add(pos.y + y);
-            targetPositions.add(pos.z + z);
-
-            targetNormals.add(norm.x);
-            targetNormals.add(norm.y);
-            targetNormals.add(norm.z);
-
             float baseU = baseUVs[i*2];
             float baseV = baseUVs[i*2+1];
-            float finalU = atlasInfo.u0() + baseU * atlasInfo.getWidthUV();
-            float finalV = atlasInfo.v0() + baseV * atlasInfo.getHeightUV();
-            targetUvs.add(finalU);
-            targetUvs.add(finalV);
-        }
 
-        // --- 6. Add Indices for this part's quad ---
-        targetIndices.add(baseVertexIndex + 0);
-        targetIndices.add(baseVertexIndex + 1);
-        targetIndices.add(baseVertexIndex + 2);
-        targetIndices.add(baseVertexIndex + 0);
-        targetIndices.add(baseVertexIndex + 2);
-        targetIndices.add(baseVertexIndex + 3);
-
-        // --- 7. Increment offset for the next part/face ---
-        if(isOpaque) {
-            ctx.currentVertexOffset_opaque += 4;
-        } else {
-            // ctx.currentVertexOffset_transparent += 4; // If transparent stairs exist
+            bakedPositions[i*3] = pos.x;
+            bakedPositions[i*3+1] = pos.y;
+            bakedPositions[i*3+2] = pos.z;
+            bakedUVs[i*2] = atlasInfo.u0() + baseU * atlasInfo.getWidthUV();
+            bakedUVs[i*2+1] = atlasInfo.v0() + baseV * atlasInfo.getHeightUV();
+            bakedNormals[i*3] = norm.x;
+            bakedNormals[i*3+1] = norm.y;
+            bakedNormals[i*3+2] = norm.z;
         }
-        return true;
+
+        return new BakedQuad(bakedPositions, bakedUVs, bakedNormals, isOpaque);
     }
 
     // Helper methods to retrieve geometry data
@@ -309,23 +251,6 @@ public class StairsModelProvider implements IBlockModelProvider {
         }
     }
 
-    // Get Texture Atlas Info
-    private TextureAtlasInfo getTextureAtlasInfoForBlockFace(TextureManager textureManager, Block block, Block.Face face) {
-        Map<Block.Face, String> textures = block.getSettings().getFaceProperties().getTextures();
-        String texturePath = textures.get(face);
-
-        // Simple fallback: If a specific face (like FRONT) isn't defined, maybe use the texture defined for BACK or SIDE?
-        // A more robust solution involves dedicated 'side' textures in Block.Settings or more complex mapping.
-        if (texturePath == null) {
-            // Example: try SIDE texture if FRONT/BACK/LEFT/RIGHT missing
-            // This requires you to define how Block.Face maps to potential texture keys
-            // For now, just log and return null (leading to fallback texture)
-            // System.err.printf("StairsModelProvider: Texture path is null for block %s, face %s. Consider fallback logic.%n", block.getIdentifier(), face);
-            return null; // Will trigger fallback in addPartGeometry
-        }
-        return textureManager.getTextureInfo(texturePath);
-    }
-
     @Override
     @Nullable
     public Block.Face getFaceFromNeighborOffset(int neighborDx, int neighborDy, int neighborDz) {
@@ -1,16 +1,21 @@
 package com.chaotic_loom.game.core;
 
-import com.chaotic_loom.game.registries.built_in.Blocks;
+import com.chaotic_loom.game.registries.BlockModelRegistry;
 import com.chaotic_loom.game.world.ChunkData;
 import com.chaotic_loom.game.world.ClientChunk;
-import com.chaotic_loom.game.world.components.Block;
-import com.chaotic_loom.game.world.components.BlockInstance;
+import com.chaotic_loom.game.world.ClientWorld;
 import com.chaotic_loom.game.world.components.ClientGameObject;
+import com.chaotic_loom.game.world.generation.ChunkGenerationPool;
+import com.chaotic_loom.game.world.generation.NoiseChunkGenerator;
 import com.chaotic_loom.game.core.utils.ClientConstants;
+import com.chaotic_loom.game.events.ChunkEvents;
 import com.chaotic_loom.game.events.WindowEvents;
 import com.chaotic_loom.game.networking.ClientNetworkingContext;
 import com.chaotic_loom.game.rendering.*;
 import com.chaotic_loom.game.rendering.components.Camera;
+import com.chaotic_loom.game.rendering.components.BlockModelCache;
+import com.chaotic_loom.game.rendering.components.ChunkMeshScheduler;
+import com.chaotic_loom.game.rendering.components.FaceCullingTable;
 import com.chaotic_loom.game.rendering.mesh.Cube;
 import com.chaotic_loom.game.rendering.mesh.Mesh;
 import com.chaotic_loom.game.rendering.texture.Texture;
@@ -20,8 +25,8 @@ import org.joml.Matrix4f;
 import org.joml.Vector3f;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 
-import static com.chaotic_loom.game.core.util.SharedConstants.*;
 import static org.lwjgl.glfw.GLFW.*;
 
 public class ClientEngine extends AbstractEngine {
@@ -33,8 +38,10 @@ public class ClientEngine extends AbstractEngine {
     private final ClientTimer timer;
     private final RenderStats renderStats;
     private final TextureManager textureManager;
+    private final ChunkMeshScheduler chunkMeshScheduler;
 
     private final List<ClientGameObject> gameObjects; // TEMP state
+    private final ClientWorld clientWorld;
     private final Map<Texture, Map<Mesh, Map<TextureAtlasInfo, List<Matrix4f>>>> atlasRenderBatch;
 
     public ClientEngine() {
@@ -48,7 +55,9 @@ public class ClientEngine extends AbstractEngine {
         this.timer = new ClientTimer();
         this.renderStats = new RenderStats();
         this.textureManager = new TextureManager();
+        this.chunkMeshScheduler = new ChunkMeshScheduler(ClientConstants.CHUNK_MESHING_THREADS, ClientConstants.MAX_CHUNK_MESHES_IN_FLIGHT);
         this.gameObjects = new ArrayList<>(); // TEMP state
+        this.clientWorld = new ClientWorld();
         this.atlasRenderBatch = new HashMap<>();
     }
 
@@ -60,6 +69,8 @@ public class ClientEngine extends AbstractEngine {
 
         window.init();
         textureManager.bakeAtlases("textures");
+        FaceCullingTable.bake(); // Registration already ran, every block state exists
+        BlockModelCache.bake(state -> BlockModelRegistry.getProvider(state.getBlock()), textureManager::getTextureInfo);
         timer.init();
         renderer.init(window);
         inputManager.init(window);
@@ -116,99 +127,29 @@ public class ClientEngine extends AbstractEngine {
         } else {
             getLogger().error("Failed to build and create chunk game object(s) for testing.");
         }*/
-        int testChunkX = 1;
-        int testChunkY = 0;
-        int testChunkZ = 1;
-        ChunkData manualChunkData = new ChunkData(testChunkX, testChunkY, testChunkZ);
-        Loggers.CHUNK.info("Created ChunkData at: " + testChunkX + ", " + testChunkY + ", " + testChunkZ);
-
-        // 3. Populate ChunkData with blocks
-        Loggers.CHUNK.info("Populating ChunkData...");
-        for (int x = 0; x < CHUNK_WIDTH; x++) {
-            for (int z = 0; z < CHUNK_DEPTH; z++) {
-                // Create a base layer
-                manualChunkData.setBlock(x, 0, z, Blocks.STONE.createInstance());
-
-                // Add some features on layer 1
-                if (x == 0 || x == CHUNK_WIDTH - 1 || z == 0 || z == CHUNK_DEPTH - 1) {
-                    manualChunkData.setBlock(x, 1, z, Blocks.WOOD.createInstance()); // Border of logs
-                } else if (x > 5 && x < 10 && z > 5 && z < 10) {
-                    manualChunkData.setBlock(x, 1, z, Blocks.GLASS.createInstance()); // Central glass area
-                } else {
-                    manualChunkData.setBlock(x, 1, z, Blocks.DIRT.createInstance()); // Fill with dirt
+        // Test terrain around the origin, generated like the server does it (TEMP, until single-player)
+        // The meshes get built in the background (with neighbour data) and rendered once uploaded
+        try (ChunkGenerationPool<?> generationPool = new ChunkGenerationPool<>(new NoiseChunkGenerator(ServerConstants.DEFAULT_WORLD_SEED), ServerConstants.DEFAULT_WORLD_GEN_THREADS)) {
+            List<CompletableFuture<ChunkData>> testChunks = new ArrayList<>();
+            for (int cy = -1; cy <= 2; cy++) {
+                for (int cz = -3; cz <= 3; cz++) {
+                    for (int cx = -3; cx <= 3; cx++) {
+                        testChunks.add(generationPool.load(cx, cy, cz));
+                    }
                 }
             }
-        }
-        // Add a small pillar
-        manualChunkData.setBlock(2, 1, 2, Blocks.STONE.createInstance());
-        manualChunkData.setBlock(2, 2, 2, Blocks.STONE.createInstance());
-        manualChunkData.setBlock(2, 3, 2, Blocks.GLASS.createInstance());
-        manualChunkData.setBlock(2, 4, 2, Blocks.STONE.createInstance());
-
-        manualChunkData.setBlock(0, 4, 0, new BlockInstance(Blocks.LOG, Block.Direction.NORTH));
-        manualChunkData.setBlock(2, 4, 0, new BlockInstance(Blocks.LOG, Block.Direction.SOUTH));
-        manualChunkData.setBlock(4, 4, 0, new BlockInstance(Blocks.LOG, Block.Direction.EAST));
-        manualChunkData.setBlock(6, 4, 0, new BlockInstance(Blocks.LOG, Block.Direction.WEST));
-        manualChunkData.setBlock(8, 4, 0, new BlockInstance(Blocks.LOG, Block.Direction.UP));
-        manualChunkData.setBlock(10, 4, 0, new BlockInstance(Blocks.LOG, Block.Direction.DOWN));
-
-        Loggers.CHUNK.info("Population complete.");
-
-        // 4. Create the ClientChunk wrapper
-        // If your mesher needs neighbor data, you'd pass a WorldAccessor here too.
-        ClientChunk manualClientChunk = new ClientChunk(manualChunkData, textureManager /*, worldAccessor */);
-        Loggers.CHUNK.info("Created ClientChunk wrapper.");
-
-        // 5. Trigger mesh generation
-        Loggers.CHUNK.info("Requesting mesh rebuild...");
-        manualClientChunk.rebuildMeshIfNeeded(); // This internally calls ChunkMesher
-        Loggers.CHUNK.info("Mesh rebuild process finished.");
-
-        // 6. Create GameObject(s) from the result
-        Texture atlas = manualClientChunk.getAtlasTexture();
-        Mesh opaqueMesh = manualClientChunk.getMeshOpaque();
-        Mesh transparentMesh = manualClientChunk.getMeshTransparent();
-        Vector3f worldPos = manualClientChunk.getWorldPosition(); // Get calculated world pos
-
-        if (atlas == null && (opaqueMesh != null || transparentMesh != null)) {
-            Loggers.CHUNK.error("Warning: Meshes generated but atlas texture reference is missing!");
-            // Handle this case - maybe use a default atlas?
-        }
 
-        // Create placeholder AtlasInfo - only the 'atlasTexture' field really matters
-        // for the existing renderer batching when using pre-meshed chunks.
-        TextureAtlasInfo placeholderAtlasInfo = (atlas != null)
-                ? new TextureAtlasInfo(atlas, 0, 0, 1, 1)
-                : null; // Or handle error if atlas is null but meshes exist
-
-        if (placeholderAtlasInfo != null) {
-            // Add Opaque GameObject if mesh exists
-            if (opaqueMesh != null) {
-                ClientGameObject goOpaque = new ClientGameObject(opaqueMesh, placeholderAtlasInfo);
-                goOpaque.getTransform().setPosition(worldPos);
-                gameObjects.add(goOpaque); // Add opaque first
-                Loggers.CHUNK.info("Added Opaque GameObject for manual chunk.");
-            } else {
-                Loggers.CHUNK.info("Manual chunk has no opaque geometry.");
+            for (CompletableFuture<ChunkData> testChunk : testChunks) {
+                clientWorld.addChunk(testChunk.join());
             }
 
-            // Add Transparent GameObject if mesh exists
-            if (transparentMesh != null) {
-                ClientGameObject goTransparent = new ClientGameObject(transparentMesh, placeholderAtlasInfo);
-                goTransparent.getTransform().setPosition(worldPos);
-                gameObjects.add(goTransparent); // Add transparent last
-                Loggers.CHUNK.info("Added Transparent GameObject for manual chunk.");
-            } else {
-                Loggers.CHUNK.info("Manual chunk has no transparent geometry.");
-            }
-        } else if (opaqueMesh != null || transparentMesh != null) {
-            Loggers.CHUNK.info("Cannot create GameObjects for manual chunk - Atlas Texture is missing!");
-        } else {
-            Loggers.CHUNK.info("Manual chunk resulted in no geometry.");
+            Loggers.CHUNK.info("Generated {} test chunks.", testChunks.size());
         }
-        Loggers.CHUNK.info("--- Manual Test Chunk Creation Finished ---");
 
 
+        // Chunks streamed by the server
+        ChunkEvents.RECEIVED.register(clientWorld::addChunk);
+
         //TempServer.joinServer(this);
 
         // Modify viewport on window modification
@@ -232,10 +173,19 @@ public class ClientEngine extends AbstractEngine {
             // Process continuous input (movement keys)
             processInput(elapsedTime);
 
+            // --- Networking ---
+            getNetworkingManager().processIncomingPackets();
+
             // --- Client Update ---
             // TODO: Update client-side logic (animations, interpolation, prediction)
             inputManager.update();
 
+            // --- Chunk Meshing ---
+            chunkMeshScheduler.scheduleDirty(clientWorld.getChunks());
+            chunkMeshScheduler.uploadCompleted(ClientConstants.CHUNK_UPLOAD_BUDGET_NANOS);
+
+            getNetworkingManager().flushPendingWrites(); // Packets sent this frame, one flush
+
             // --- Rendering ---
             render();
             timer.frameRendered(); // Update FPS counter
@@ -303,17 +253,30 @@ public class ClientEngine extends AbstractEngine {
                 continue;
             }
 
-            Texture atlasTexture = atlasInfo.atlasTexture();
+            addToRenderBatch(mesh, atlasInfo, go.getModelMatrix());
+        }
+
+        // Chunks, opaque first
+        for (ClientChunk chunk : clientWorld.getChunks()) {
+            TextureAtlasInfo atlasInfo = chunk.getAtlasInfo();
+            if (atlasInfo == null) continue; // Not meshed yet or empty
 
-            // Populate the 3-level batch structure:
-            atlasRenderBatch
-                    .computeIfAbsent(atlasTexture, k -> new HashMap<>())    // Level 1: Atlas Texture
-                    .computeIfAbsent(mesh, k -> new HashMap<>())    // Level 2: Mesh
-                    .computeIfAbsent(atlasInfo, k -> new ArrayList<>())     // Level 3: AtlasInfo (UV region)
-                    .add(go.getModelMatrix());      // Add instance matrix to the list
+            if (chunk.getMeshOpaque() != null) addToRenderBatch(chunk.getMeshOpaque(), atlasInfo, chunk.getModelMatrix());
+            if (chunk.getMeshTransparent() != null) addToRenderBatch(chunk.getMeshTransparent(), atlasInfo, chunk.getModelMatrix());
         }
     }
 
+    private void addToRenderBatch(Mesh mesh, TextureAtlasInfo atlasInfo, Matrix4f modelMatrix) {
+        Texture atlasTexture = atlasInfo.atlasTexture();
+
+        // Populate the 3-level batch structure:
+        atlasRenderBatch
+                .computeIfAbsent(atlasTexture, k -> new HashMap<>())    // Level 1: Atlas Texture
+                .computeIfAbsent(mesh, k -> new HashMap<>())    // Level 2: Mesh
+                .computeIfAbsent(atlasInfo, k -> new ArrayList<>())     // Level 3: AtlasInfo (UV region)
+                .add(modelMatrix);      // Add instance matrix to the list
+    }
+
     private void render() {
         prepareRenderBatch();
 
@@ -344,6 +307,7 @@ public class ClientEngine extends AbstractEngine {
         getLogger().info("Cleaning up client engine...");
 
         getNetworkingManager().cleanup();
+        chunkMeshScheduler.shutdown();
         renderer.cleanup();
 
         textureManager.cleanup();
@@ -353,6 +317,7 @@ public class ClientEngine extends AbstractEngine {
         for (ClientGameObject go : gameObjects) { uniqueMeshes.add(go.getMesh()); }
         getLogger().info("Cleaning up {} unique meshes...", uniqueMeshes.size());
         for (Mesh mesh : uniqueMeshes) { if(mesh != null) mesh.cleanup(); }
+        clientWorld.cleanup();
 
         inputManager.cleanup(window);
         window.cleanup();
@@ -2,4 +2,9 @@ package com.chaotic_loom.game.core.utils;
 
 public abstract class ClientConstants {
     public static final int TARGET_FPS = 144;
+
+    // Chunk meshing
+    public static final int CHUNK_MESHING_THREADS = Math.max(1, Runtime.getRuntime().availableProcessors() - 2); // Leave room for the render and network threads
+    public static final int MAX_CHUNK_MESHES_IN_FLIGHT = CHUNK_MESHING_THREADS * 4; // Bounds the amount of snapshots alive at once
+    public static final long CHUNK_UPLOAD_BUDGET_NANOS = 2_000_000L; // Time per frame spent uploading finished chunk meshes
 }
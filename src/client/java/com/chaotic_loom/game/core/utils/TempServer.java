@@ -4,15 +4,16 @@ import com.chaotic_loom.game.core.ClientEngine;
 import com.chaotic_loom.game.core.Loggers;
 import com.chaotic_loom.game.networking.ClientPacketChannelHandler;
 import com.chaotic_loom.game.networking.NetworkingManager;
+import com.chaotic_loom.game.networking.PacketDecoder;
+import com.chaotic_loom.game.networking.components.NettyTransport;
+import com.chaotic_loom.game.networking.components.NetworkOptions;
 import com.chaotic_loom.game.networking.components.User;
 import io.netty.bootstrap.Bootstrap;
 import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelInitializer;
 import io.netty.channel.ChannelPipeline;
 import io.netty.channel.EventLoopGroup;
-import io.netty.channel.nio.NioEventLoopGroup;
 import io.netty.channel.socket.SocketChannel;
-import io.netty.channel.socket.nio.NioSocketChannel;
 import io.netty.handler.codec.LengthFieldBasedFrameDecoder;
 import io.netty.handler.timeout.IdleStateHandler;
 
@@ -29,22 +30,27 @@ public class TempServer {
         new Thread(() -> {
             String host = "localhost";
             int port = 8080;
-            EventLoopGroup group = new NioEventLoopGroup();
+            NetworkOptions options = NetworkOptions.fromArgs(engine.getArgsManager());
+            engine.getNetworkingManager().setNetworkOptions(options);
+            NettyTransport transport = options.selectTransport();
+            EventLoopGroup group = transport.createEventLoopGroup(options.workerThreads());
 
             try {
                 Bootstrap bootstrap = new Bootstrap();
                 bootstrap.group(group)
-                        .channel(NioSocketChannel.class)
+                        .channel(transport.getChannelClass())
                         .handler(new ChannelInitializer<SocketChannel>() {
                             @Override
                             protected void initChannel(SocketChannel ch) throws Exception {
                                 ChannelPipeline pipeline = ch.pipeline();
 
                                 pipeline.addLast(new IdleStateHandler(NetworkingManager.READER_IDLE_TIMEOUT_SECONDS, 0, 0, TimeUnit.SECONDS));
-                                pipeline.addLast(new LengthFieldBasedFrameDecoder(NetworkingManager.MAX_FRAME_LENGTH, NetworkingManager.LENGTH_FIELD_OFFSET, NetworkingManager.LENGTH_FIELD_LENGTH, NetworkingManager.LENGTH_ADJUSTMENT, NetworkingManager.INITIAL_BYTES_TO_STRIP));
+                                pipeline.addLast(NetworkingManager.FRAME_DECODER, new LengthFieldBasedFrameDecoder(options.maxFrameLength(), NetworkingManager.LENGTH_FIELD_OFFSET, NetworkingManager.LENGTH_FIELD_LENGTH, NetworkingManager.LENGTH_ADJUSTMENT, NetworkingManager.INITIAL_BYTES_TO_STRIP));
+                                pipeline.addLast(NetworkingManager.PACKET_DECODER, new PacketDecoder());
                                 pipeline.addLast(new ClientPacketChannelHandler());
                             }
                         });
+                options.applyTo(bootstrap);
 
                 // Connect to the server and wait until the connection is made.
                 ChannelFuture future = bootstrap.connect(host, port).sync();
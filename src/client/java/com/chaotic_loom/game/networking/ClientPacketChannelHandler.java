@@ -9,6 +9,8 @@ public class ClientPacketChannelHandler extends PacketChannelHandler {
     // On the client, we send the LOGIN packet once the client joins a channel/server
     @Override
     public void channelActive(ChannelHandlerContext ctx) throws Exception {
+        super.channelActive(ctx);
+
         ClientEngine engine = (ClientEngine) AbstractLauncher.getEngine();
         ClientNetworkingContext context = engine.getClientNetworkingContext();
 
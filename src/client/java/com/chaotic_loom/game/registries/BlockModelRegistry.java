@@ -0,0 +1,43 @@
+package com.chaotic_loom.game.registries;
+
+import com.chaotic_loom.game.CubeModelProvider;
+import com.chaotic_loom.game.IBlockModelProvider;
+import com.chaotic_loom.game.core.Loggers;
+import com.chaotic_loom.game.registries.components.Identifier;
+import com.chaotic_loom.game.world.components.Block;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Client-side mapping of blocks to the model provider that renders them, keyed by block Identifier.
+ * Filled by CLIENT registrars (see BlockModels), blocks without an entry render as plain cubes.
+ * The mesher does not read it directly, BlockModelCache resolves it once per block state.
+ */
+public class BlockModelRegistry {
+    private static final Map<Identifier, IBlockModelProvider> providers = new HashMap<>();
+
+    public static IBlockModelProvider register(Block block, IBlockModelProvider provider) {
+        Identifier identifier = block.getIdentifier();
+
+        if (identifier == null) {
+            throw new IllegalStateException("Block must be registered before its model");
+        }
+
+        if (providers.containsKey(identifier)) {
+            throw new IllegalArgumentException("Duplicate block model: " + identifier);
+        }
+
+        Loggers.REGISTRY.debug("Registering model {} for {}!", provider.getClass().getSimpleName(), identifier);
+        providers.put(identifier, provider);
+
+        return provider;
+    }
+
+    /**
+     * @return The model provider of the block, CubeModelProvider if none was registered.
+     */
+    public static IBlockModelProvider getProvider(Block block) {
+        return providers.getOrDefault(block.getIdentifier(), CubeModelProvider.INSTANCE);
+    }
+}
@@ -0,0 +1,18 @@
+package com.chaotic_loom.game.registries.built_in;
+
+import com.chaotic_loom.game.CubeModelProvider;
+import com.chaotic_loom.game.core.Environment;
+import com.chaotic_loom.game.registries.BlockModelRegistry;
+import com.chaotic_loom.game.registries.components.Registration;
+
+@Registration(environment = Environment.CLIENT)
+public class BlockModels {
+    public static void register() {
+        // Air is never meshed, it needs no model
+        BlockModelRegistry.register(Blocks.GLASS, CubeModelProvider.INSTANCE);
+        BlockModelRegistry.register(Blocks.DIRT, CubeModelProvider.INSTANCE);
+        BlockModelRegistry.register(Blocks.WOOD, CubeModelProvider.INSTANCE);
+        BlockModelRegistry.register(Blocks.STONE, CubeModelProvider.INSTANCE);
+        BlockModelRegistry.register(Blocks.LOG, CubeModelProvider.INSTANCE);
+    }
+}
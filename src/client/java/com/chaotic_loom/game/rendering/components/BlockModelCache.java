@@ -0,0 +1,152 @@
+package com.chaotic_loom.game.rendering.components;
+
+import com.chaotic_loom.game.IBlockModelProvider;
+import com.chaotic_loom.game.core.Loggers;
+import com.chaotic_loom.game.registries.built_in.Blocks;
+import com.chaotic_loom.game.rendering.mesh.BakedQuad;
+import com.chaotic_loom.game.rendering.texture.Texture;
+import com.chaotic_loom.game.rendering.texture.TextureAtlasInfo;
+import com.chaotic_loom.game.world.components.Block;
+import com.chaotic_loom.game.world.components.BlockInstance;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Baked block models: for every block state and face, the quads its model provider produces, fully resolved
+ * (rotated geometry and final atlas UVs), plus the atlas region of the face texture.
+ * The mesher only copies them, no rotations or texture lookups happen while meshing.
+ *
+ * Faces use the Block.Face indices. Read-only after bake(), so it is safe to use from the meshing workers.
+ */
+public final class BlockModelCache {
+    private BlockModelCache() {} // Static class
+
+    private static final int FACE_COUNT = 6;
+    private static final String FALLBACK_TEXTURE = "/textures/debug_missing.png";
+    private static final BakedQuad[] NO_QUADS = new BakedQuad[0];
+
+    private static int stateCount = 0;
+    private static IBlockModelProvider[] providers = new IBlockModelProvider[0]; // By state ID
+    private static BakedQuad[][] quads = new BakedQuad[0][]; // By state ID * FACE_COUNT + face
+    private static TextureAtlasInfo[] faceTextures = new TextureAtlasInfo[0]; // Same indexing as quads
+    private static Texture atlasTexture = null;
+
+    /**
+     * Bakes every registered block state. Must be called after registration and after the atlases are baked,
+     * and again if either changes.
+     * @param providerLookup Model provider of each state.
+     * @param textureLookup Resolves texture paths into atlas regions (usually TextureManager::getTextureInfo).
+     * @throws IllegalStateException if the fallback texture is missing or the textures span several atlases.
+     */
+    public static void bake(Function<BlockInstance, IBlockModelProvider> providerLookup, Function<String, TextureAtlasInfo> textureLookup) {
+        int count = BlockInstance.getStateCount();
+
+        IBlockModelProvider[] bakedProviders = new IBlockModelProvider[count];
+        BakedQuad[][] bakedQuads = new BakedQuad[count * FACE_COUNT][];
+        TextureAtlasInfo[] bakedFaceTextures = new TextureAtlasInfo[count * FACE_COUNT];
+        Texture bakedAtlas = null;
+        boolean atlasFound = false;
+        int quadCount = 0;
+
+        List<BakedQuad> faceQuads = new ArrayList<>();
+
+        for (int stateId = 0; stateId < count; stateId++) {
+            BlockInstance state = BlockInstance.byStateId(stateId);
+            IBlockModelProvider provider = providerLookup.apply(state);
+            bakedProviders[stateId] = provider;
+
+            if (state.getBlock() == Blocks.AIR) {
+                Arrays.fill(bakedQuads, stateId * FACE_COUNT, (stateId + 1) * FACE_COUNT, NO_QUADS); // Never meshed
+                continue;
+            }
+
+            Map<Block.Face, TextureAtlasInfo> textures = resolveTextures(state.getBlock(), textureLookup);
+            for (TextureAtlasInfo info : textures.values()) {
+                if (!atlasFound) {
+                    bakedAtlas = info.atlasTexture();
+                    atlasFound = true;
+                } else if (bakedAtlas != info.atlasTexture()) {
+                    // Chunks are drawn with a single atlas bound, see ClientChunk
+                    throw new IllegalStateException("Block textures are spread across multiple atlases, found while baking " + state);
+                }
+            }
+
+            for (Block.Face face : Block.Face.values()) {
+                int index = stateId * FACE_COUNT + face.getFaceIndex();
+                bakedFaceTextures[index] = textures.get(face);
+
+                faceQuads.clear();
+                provider.bakeFace(state, face, textures::get, faceQuads);
+                bakedQuads[index] = faceQuads.isEmpty() ? NO_QUADS : faceQuads.toArray(NO_QUADS);
+                quadCount += faceQuads.size();
+            }
+        }
+
+        providers = bakedProviders;
+        quads = bakedQuads;
+        faceTextures = bakedFaceTextures;
+        atlasTexture = bakedAtlas;
+        stateCount = count;
+
+        Loggers.RENDERER.info("BlockModelCache: Baked {} quads for {} block states.", quadCount, count);
+    }
+
+    /**
+     * Resolves the atlas region of every face of the block, missing textures fall back to the debug texture.
+     */
+    private static Map<Block.Face, TextureAtlasInfo> resolveTextures(Block block, Function<String, TextureAtlasInfo> textureLookup) {
+        Map<Block.Face, String> paths = block.getSettings().getFaceProperties().getTextures();
+        Map<Block.Face, TextureAtlasInfo> textures = new EnumMap<>(Block.Face.class);
+
+        for (Block.Face face : Block.Face.values()) {
+            String path = paths.get(face);
+            TextureAtlasInfo info = path != null ? textureLookup.apply(path) : null;
+
+            if (info == null) {
+                Loggers.RENDERER.error("BlockModelCache: Missing TextureAtlasInfo for block {}, face {}. Using fallback.", block.getIdentifier(), face);
+                info = textureLookup.apply(FALLBACK_TEXTURE);
+                if (info == null) {
+                    throw new IllegalStateException("Fallback texture '" + FALLBACK_TEXTURE + "' not found");
+                }
+            }
+
+            textures.put(face, info);
+        }
+
+        return textures;
+    }
+
+    /**
+     * @return The quads of the given state face, possibly empty. Must not be modified.
+     */
+    public static BakedQuad[] getQuads(int stateId, int face) {
+        return quads[stateId * FACE_COUNT + face];
+    }
+
+    /**
+     * @return The atlas region of the given state face texture, null for air.
+     */
+    public static TextureAtlasInfo getFaceTexture(int stateId, int face) {
+        return faceTextures[stateId * FACE_COUNT + face];
+    }
+
+    public static IBlockModelProvider getProvider(int stateId) {
+        return providers[stateId];
+    }
+
+    /**
+     * @return The atlas every baked texture lives in.
+     */
+    public static Texture getAtlasTexture() {
+        return atlasTexture;
+    }
+
+    public static boolean isBaked() {
+        return stateCount > 0 && stateCount == BlockInstance.getStateCount();
+    }
+}
@@ -0,0 +1,140 @@
+package com.chaotic_loom.game.rendering.components;
+
+import com.chaotic_loom.game.core.Loggers;
+import com.chaotic_loom.game.world.PaddedChunkSnapshot;
+import com.chaotic_loom.game.world.ClientChunk;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collection;
+import java.util.Queue;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Builds chunk meshes on a pool of worker threads.
+ * The render thread hands dirty chunks in, workers mesh immutable snapshots of them, and the finished
+ * CPU-side geometry comes back through a queue that the render thread uploads within a per-frame time budget.
+ *
+ * Every method except the worker task itself must be called from the render thread.
+ */
+public class ChunkMeshScheduler {
+    private final ExecutorService executor;
+    private final Queue<CompletedMesh> completed = new ConcurrentLinkedQueue<>();
+    private final int maxInFlight;
+
+    private int inFlight = 0; // Scheduled but not yet uploaded or discarded
+
+    private record CompletedMesh(ClientChunk chunk, int revision, @Nullable ChunkMesher.ChunkGeometry geometry) {}
+
+    /**
+     * @param threads Amount of worker threads.
+     * @param maxInFlight Max amount of chunks being meshed or waiting for upload at once.
+     */
+    public ChunkMeshScheduler(int threads, int maxInFlight) {
+        this.maxInFlight = maxInFlight;
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "ChunkMesher-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            thread.setPriority(Thread.NORM_PRIORITY - 1); // The render thread comes first
+            return thread;
+        });
+    }
+
+    /**
+     * Schedules every chunk that needs meshing, until the in-flight limit is reached.
+     * Chunks left out stay dirty and get scheduled on a later call.
+     */
+    public void scheduleDirty(Collection<ClientChunk> chunks) {
+        for (ClientChunk chunk : chunks) {
+            if (inFlight >= maxInFlight) {
+                return;
+            }
+
+            if (chunk.needsMeshing()) {
+                schedule(chunk);
+            }
+        }
+    }
+
+    private void schedule(ClientChunk chunk) {
+        int revision = chunk.getRevision();
+        PaddedChunkSnapshot snapshot = chunk.createMeshSnapshot();
+
+        try {
+            executor.execute(() -> {
+                ChunkMesher.ChunkGeometry geometry = null;
+
+                try {
+                    geometry = ChunkMesher.buildGeometry(snapshot);
+                } catch (Exception e) {
+                    Loggers.RENDERER.error("ChunkMeshScheduler: Failed to mesh chunk at {},{},{}", snapshot.getChunkX(), snapshot.getChunkY(), snapshot.getChunkZ(), e);
+                }
+
+                completed.add(new CompletedMesh(chunk, revision, geometry));
+            });
+
+            inFlight++;
+        } catch (RejectedExecutionException e) {
+            Loggers.RENDERER.warn("ChunkMeshScheduler: Meshing rejected, scheduler is shut down.");
+        }
+    }
+
+    /**
+     * Uploads finished meshes until the queue is empty or the time budget runs out.
+     * At least one result is processed per call so meshing always makes progress.
+     * @param budgetNanos Time allowed for uploading.
+     * @return The amount of meshes uploaded.
+     */
+    public int uploadCompleted(long budgetNanos) {
+        long start = System.nanoTime();
+        int uploaded = 0;
+
+        CompletedMesh result;
+        while ((result = completed.poll()) != null) {
+            inFlight--;
+
+            // Stale results are dropped, the chunk changed meanwhile and has a newer snapshot queued
+            if (result.chunk().applyGeometry(result.geometry(), result.revision())) {
+                uploaded++;
+            } else if (result.geometry() != null) {
+                result.geometry().free();
+            }
+
+            if (System.nanoTime() - start >= budgetNanos) {
+                break;
+            }
+        }
+
+        return uploaded;
+    }
+
+    public int getInFlight() {
+        return inFlight;
+    }
+
+    /**
+     * Stops the workers and drops (and frees) every pending result.
+     */
+    public void shutdown() {
+        executor.shutdownNow();
+
+        try {
+            if (!executor.awaitTermination(1, TimeUnit.SECONDS)) {
+                Loggers.RENDERER.warn("ChunkMeshScheduler: Workers did not stop in time.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        // Geometry lives off-heap, free whatever never got uploaded
+        CompletedMesh result;
+        while ((result = completed.poll()) != null) {
+            if (result.geometry() != null) {
+                result.geometry().free();
+            }
+        }
+        inFlight = 0;
+    }
+}
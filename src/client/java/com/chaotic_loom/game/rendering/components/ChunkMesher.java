@@ -2,22 +2,20 @@ package com.chaotic_loom.game.rendering.components;
 
 import com.chaotic_loom.game.CubeModelProvider;
 import com.chaotic_loom.game.IBlockModelProvider;
-import com.chaotic_loom.game.StairsModelProvider;
-import com.chaotic_loom.game.core.Loggers;
-import com.chaotic_loom.game.registries.built_in.Blocks;
-import com.chaotic_loom.game.rendering.TextureManager;
+import com.chaotic_loom.game.rendering.mesh.BakedQuad;
 import com.chaotic_loom.game.rendering.mesh.Cube;
 import com.chaotic_loom.game.rendering.mesh.Mesh;
+import com.chaotic_loom.game.rendering.mesh.MeshGeometryBuilder;
 import com.chaotic_loom.game.rendering.texture.Texture;
 import com.chaotic_loom.game.rendering.texture.TextureAtlasInfo;
 import com.chaotic_loom.game.world.ChunkData;
+import com.chaotic_loom.game.world.PaddedChunkSnapshot;
+import com.chaotic_loom.game.world.WorldAccessor;
 import com.chaotic_loom.game.world.components.Block;
 import com.chaotic_loom.game.world.components.BlockInstance;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Map;
+import java.util.Arrays;
 
 import static com.chaotic_loom.game.core.util.SharedConstants.*;
 
@@ -25,6 +23,54 @@ public final class ChunkMesher {
 
     private ChunkMesher() {} // Static class
 
+    private static final int INITIAL_VERTEX_CAPACITY = 4096; // Grows as needed
+    private static final int FACE_COUNT = 6;
+
+    // Per face index: axis of the face normal and axes the texture U and V run along (0=X, 1=Y, 2=Z).
+    // Derived from Cube, whose faces all use the UVs (0,0) (1,0) (1,1) (0,1): U changes from vertex 0 to 1, V from 1 to 2.
+    private static final int[] FACE_NORMAL_AXIS = new int[FACE_COUNT];
+    private static final int[] FACE_U_AXIS = new int[FACE_COUNT];
+    private static final int[] FACE_V_AXIS = new int[FACE_COUNT];
+
+    // Per face index: padded snapshot index delta to the neighbour the face touches
+    private static final int[] NEIGHBOR_PADDED_OFFSETS = new int[FACE_COUNT];
+
+    private static final int[] CHUNK_SIZE_BY_AXIS = { CHUNK_WIDTH, CHUNK_HEIGHT, CHUNK_DEPTH };
+
+    // Greedy pass buffers, one set per meshing thread. The mask is left zeroed after every build.
+    private static final ThreadLocal<GreedyScratch> GREEDY_SCRATCH = ThreadLocal.withInitial(GreedyScratch::new);
+
+    private static final class GreedyScratch {
+        // Faces left for the greedy pass, per face index: state ID + 1 for each block (0 = no face)
+        final int[][] faces = new int[FACE_COUNT][ChunkData.BLOCK_COUNT];
+        final int[] pos = new int[3];
+        final float[] corner = new float[3];
+
+        void clear() {
+            for (int[] mask : faces) {
+                Arrays.fill(mask, 0);
+            }
+        }
+    }
+
+    static {
+        int[][] neighborOffsets = { // {dx, dy, dz}, in face index order
+                { 0,  0,  1}, { 0,  0, -1}, { 0,  1,  0},
+                { 0, -1,  0}, { 1,  0,  0}, {-1,  0,  0}
+        };
+        for (int face = 0; face < FACE_COUNT; face++) {
+            int[] offset = neighborOffsets[face];
+            NEIGHBOR_PADDED_OFFSETS[face] = PaddedChunkSnapshot.getPaddedIndex(offset[0], offset[1], offset[2]) - PaddedChunkSnapshot.getPaddedIndex(0, 0, 0);
+        }
+
+        for (int face = 0; face < FACE_COUNT; face++) {
+            int start = face * 12;
+            FACE_NORMAL_AXIS[face] = getNonZeroAxis(Cube.NORMALS, start);
+            FACE_U_AXIS[face] = getChangedAxis(Cube.POSITIONS, start, start + 3);
+            FACE_V_AXIS[face] = getChangedAxis(Cube.POSITIONS, start + 3, start + 6);
+        }
+    }
+
     /**
      * Result holder for mesh generation.
      */
@@ -34,261 +80,282 @@ public final class ChunkMesher {
             @Nullable Texture atlasTexture
     ) {}
 
+    /**
+     * CPU-side geometry of a whole chunk, holds no OpenGL resources but does hold off-heap memory:
+     * it is freed by upload(), or by free() when the geometry gets discarded.
+     */
+    public record ChunkGeometry(
+            @Nullable MeshGeometryBuilder opaque,
+            @Nullable MeshGeometryBuilder transparent,
+            @Nullable Texture atlasTexture
+    ) {
+        /**
+         * Uploads both meshes and frees the CPU-side data. Must be called on the render thread.
+         */
+        public ChunkMeshBuildResult upload() {
+            try {
+                // Keep the '100' placeholder as requested
+                return new ChunkMeshBuildResult(
+                        opaque != null ? opaque.upload(100) : null,
+                        transparent != null ? transparent.upload(100) : null,
+                        atlasTexture
+                );
+            } finally {
+                free();
+            }
+        }
+
+        public void free() {
+            if (opaque != null) opaque.free();
+            if (transparent != null) transparent.free();
+        }
+    }
+
     // Internal context class to hold state during mesh generation for one chunk
     public static class MeshBuildContext {
-        final ChunkData chunkData;
-        public final TextureManager textureManager;
-        // TODO: Need access to neighbor chunks for seamless meshing across boundaries
+        public final PaddedChunkSnapshot snapshot; // Chunk + neighbour borders, for seamless meshing across boundaries
         public Texture atlasTexture = null;
 
-        // Geometry Lists
-        public final List<Float> positions_opaque = new ArrayList<>();
-        public final List<Float> uvs_opaque = new ArrayList<>();
-        public final List<Float> normals_opaque = new ArrayList<>();
-        public final List<Integer> indices_opaque = new ArrayList<>();
-        public int currentVertexOffset_opaque = 0;
-
-        public final List<Float> positions_transparent = new ArrayList<>();
-        public final List<Float> uvs_transparent = new ArrayList<>();
-        public final List<Float> normals_transparent = new ArrayList<>();
-        public final List<Integer> indices_transparent = new ArrayList<>();
-        public int currentVertexOffset_transparent = 0;
-
-        MeshBuildContext(ChunkData chunkData, TextureManager textureManager) {
-            this.chunkData = chunkData;
-            this.textureManager = textureManager;
+        // Geometry builders (off-heap, see MeshGeometryBuilder)
+        public final MeshGeometryBuilder opaque = new MeshGeometryBuilder(INITIAL_VERTEX_CAPACITY);
+        public final MeshGeometryBuilder transparent = new MeshGeometryBuilder(INITIAL_VERTEX_CAPACITY);
+
+        // Greedy pass buffers of the building thread, see GREEDY_SCRATCH
+        final GreedyScratch greedy = GREEDY_SCRATCH.get();
+
+        MeshBuildContext(PaddedChunkSnapshot snapshot) {
+            this.snapshot = snapshot;
+        }
+
+        /**
+         * @return The builder that geometry with the given opacity goes to.
+         */
+        public MeshGeometryBuilder getBuilder(boolean isOpaque) {
+            return isOpaque ? opaque : transparent;
         }
     }
 
     /**
      * Generates opaque and transparent meshes for the given chunk data.
+     * Builds and uploads in one go, so it must be called on the render thread. See ChunkMeshScheduler for the async path.
      * @param chunkData The data to mesh.
-     * @param textureManager The texture manager to look up atlas info.
+     * @param world Neighbour lookup for faces on the chunk border, null to treat neighbours as air.
      * @return A ChunkMeshBuildResult containing the generated meshes (or nulls) and atlas texture.
      */
+    public static ChunkMeshBuildResult generateMeshes(ChunkData chunkData, @Nullable WorldAccessor world) {
+        return buildGeometry(PaddedChunkSnapshot.create(chunkData, world)).upload();
+    }
+
     /**
-     * Generates opaque and transparent meshes for the given chunk data.
+     * Builds the CPU-side geometry for the given snapshot without touching OpenGL.
+     * Safe to call from worker threads, the snapshot is immutable.
+     * @return The geometry.
      */
-    public static ChunkMeshBuildResult generateMeshes(ChunkData chunkData, TextureManager textureManager /*, WorldAccessor world */) {
+    public static ChunkGeometry buildGeometry(PaddedChunkSnapshot snapshot) {
 
         // CHANGE: Make context accessible (if needed by external providers)
-        MeshBuildContext ctx = new MeshBuildContext(chunkData, textureManager /*, world */);
+        MeshBuildContext ctx = new MeshBuildContext(snapshot);
+
+        boolean success = false;
+        try {
+            meshBlocks(ctx);
+            success = true;
+        } finally {
+            if (!success) {
+                // Off-heap memory, must not leak on errors
+                ctx.opaque.free();
+                ctx.transparent.free();
+                ctx.greedy.clear(); // The pass may have stopped halfway, the next build expects a zeroed mask
+            }
+        }
+
+        // Hand the builders over as they are, uploading is up to the caller
+        return new ChunkGeometry(takeIfNotEmpty(ctx.opaque), takeIfNotEmpty(ctx.transparent), ctx.atlasTexture);
+    }
+
+    /**
+     * Adds the visible faces of every block in the chunk to the context builders.
+     */
+    private static void meshBlocks(MeshBuildContext ctx) {
+        if (!FaceCullingTable.isBaked() || !BlockModelCache.isBaked()) {
+            throw new IllegalStateException("FaceCullingTable and BlockModelCache must be baked before meshing");
+        }
+
+        ctx.atlasTexture = BlockModelCache.getAtlasTexture(); // Every baked texture shares it
+
+        int[] stateIds = ctx.snapshot.getStateIdsRaw();
 
         // Iterate through blocks within the chunk
         for (int x = 0; x < CHUNK_WIDTH; x++) {
             for (int y = 0; y < CHUNK_HEIGHT; y++) {
                 for (int z = 0; z < CHUNK_DEPTH; z++) {
+                    int paddedIndex = PaddedChunkSnapshot.getPaddedIndex(x, y, z);
+                    int stateId = stateIds[paddedIndex];
+
+                    if (FaceCullingTable.isAir(stateId)) continue; // Skip air blocks
+
+                    BlockInstance currentInstance = BlockInstance.byStateId(stateId);
+                    IBlockModelProvider modelProvider = BlockModelCache.getProvider(stateId);
+
+                    // Unrotated full cubes get merged later, everything else is meshed face by face
+                    boolean greedy = modelProvider.isFullCube() && currentInstance.getDirection() == Block.Direction.NORTH;
 
-                    // CHANGE: Get BlockInstance instead of Block
-                    BlockInstance currentInstance = ctx.chunkData.getBlock(x, y, z);
-                    Block currentBlock = currentInstance.getBlock();
-
-                    if (currentBlock == Blocks.AIR) continue; // Skip air blocks
-
-                    IBlockModelProvider modelProvider = StairsModelProvider.INSTANCE; // TODO
-                    boolean currentIsOpaque = !currentBlock.getSettings().isTransparent();
-
-                    // Define neighbour RELATIVE offsets
-                    // Structure: {dx, dy, dz}
-                    int[][] neighborOffsets = {
-                            { 0,  0,  1}, { 0,  0, -1}, { 0,  1,  0},
-                            { 0, -1,  0}, { 1,  0,  0}, {-1,  0,  0}
-                    };
-
-                    for (int[] offset : neighborOffsets) {
-                        int nx = x + offset[0];
-                        int ny = y + offset[1];
-                        int nz = z + offset[2];
-
-                        // CHANGE: Get neighbor BlockInstance and Block
-                        BlockInstance neighborInstance = ctx.chunkData.getBlock(nx, ny, nz);
-                        Block neighborBlock = neighborInstance.getBlock();
-
-                        // Optimization: If neighbor is null (shouldn't happen with new getBlockInstance), treat as AIR.
-                        if (neighborBlock == null) neighborBlock = Blocks.AIR;
-
-                        boolean neighborIsOpaque = !neighborBlock.getSettings().isTransparent();
-
-
-                        // --- Visibility Rule (Occlusion Culling) ---
-                        // Render face if:
-                        // 1. Current block is opaque AND neighbor is transparent/air
-                        // 2. Current block is transparent AND neighbor is air (don't render transparent faces against other transparent/opaque blocks)
-                        // 3. Optional: Render if current block and neighbor block are different transparent types (e.g. water against glass) - more complex rule
-                        boolean shouldRenderFace = false;
-                        if (currentBlock == neighborBlock && currentIsOpaque == neighborIsOpaque) {
-                            // Don't render faces between identical blocks (e.g., stone touching stone)
-                            shouldRenderFace = false;
-                        } else if (currentIsOpaque && !neighborIsOpaque) {
-                            shouldRenderFace = true; // Opaque block against transparent/air
-                        } else if (!currentIsOpaque && neighborBlock == Blocks.AIR) {
-                            shouldRenderFace = true; // Transparent block against air ONLY
+                    for (int face = 0; face < FACE_COUNT; face++) {
+                        // Border neighbours come from the adjacent chunks, the snapshot is padded
+                        int neighborStateId = stateIds[paddedIndex + NEIGHBOR_PADDED_OFFSETS[face]];
+
+                        if (!FaceCullingTable.shouldRenderFace(stateId, neighborStateId, face)) {
+                            continue;
                         }
-                        // Add more rules if needed (e.g. different transparent blocks)
 
+                        if (greedy) {
+                            ctx.greedy.faces[face][ChunkData.getIndex(x, y, z)] = stateId + 1;
+                            continue;
+                        }
 
-                        if (shouldRenderFace) {
-                            // CHANGE: Use the model provider to add the face
+                        // Baked quads are already rotated and textured, just move them into place
+                        for (BakedQuad quad : BlockModelCache.getQuads(stateId, face)) {
+                            quad.emit(ctx.getBuilder(quad.opaque()), x, y, z);
+                        }
+                    }
+                }
+            }
+        }
+
+        mergeGreedyFaces(ctx);
+    }
+
+    /**
+     * Greedy pass: merges coplanar neighbouring faces of the same state into rectangles, one quad each.
+     * Merged quads use tile UVs (one unit per block) plus the atlas region, the shader repeats the texture.
+     * Every face is consumed, so the mask is zeroed again once it's done.
+     */
+    private static void mergeGreedyFaces(MeshBuildContext ctx) {
+        int[] size = CHUNK_SIZE_BY_AXIS;
+        int[] pos = ctx.greedy.pos;
+
+        for (int face = 0; face < FACE_COUNT; face++) {
+            int[] mask = ctx.greedy.faces[face];
+            int normalAxis = FACE_NORMAL_AXIS[face];
+            int uAxis = FACE_U_AXIS[face];
+            int vAxis = FACE_V_AXIS[face];
+
+            for (int slice = 0; slice < size[normalAxis]; slice++) {
+                pos[normalAxis] = slice;
+
+                for (int v = 0; v < size[vAxis]; v++) {
+                    for (int u = 0; u < size[uAxis]; ) {
+                        int value = mask[getMaskIndex(pos, uAxis, u, vAxis, v)];
+                        if (value == 0) {
+                            u++;
+                            continue;
+                        }
 
-                            // Determine which face needs to be rendered based on the neighbor offset
-                            Block.Face faceToRender = modelProvider.getFaceFromNeighborOffset(offset[0], offset[1], offset[2]);
+                        // Grow along U
+                        int width = 1;
+                        while (u + width < size[uAxis] && mask[getMaskIndex(pos, uAxis, u + width, vAxis, v)] == value) {
+                            width++;
+                        }
 
-                            if (faceToRender != null) {
-                                boolean success = modelProvider.addFaceGeometry(ctx, currentInstance, x, y, z, faceToRender);
-                                if (!success) {
-                                    Loggers.RENDERER.error("ChunkMesher: Failed during addFaceGeometry for {} at {},{},{}. Aborting mesh.", currentBlock.getIdentifier(), x, y, z);
-                                    return null; // Critical error from provider
+                        // Grow along V while the whole row matches
+                        int height = 1;
+                        grow:
+                        while (v + height < size[vAxis]) {
+                            for (int k = 0; k < width; k++) {
+                                if (mask[getMaskIndex(pos, uAxis, u + k, vAxis, v + height)] != value) {
+                                    break grow;
                                 }
-                            } else {
-                                Loggers.RENDERER.error("ChunkMesher: Could not determine face from neighbor offset: {},{},{}", offset[0], offset[1], offset[2]);
+                            }
+                            height++;
+                        }
+
+                        // Consume the merged faces
+                        for (int dv = 0; dv < height; dv++) {
+                            for (int du = 0; du < width; du++) {
+                                mask[getMaskIndex(pos, uAxis, u + du, vAxis, v + dv)] = 0;
                             }
                         }
+
+                        addGreedyQuad(ctx, value - 1, face, slice, u, width, v, height);
+
+                        u += width;
                     }
                 }
             }
         }
-
-        // Build Mesh Objects from context lists (unchanged)
-        Mesh meshOpaque = buildMeshFromContext(ctx.positions_opaque, ctx.uvs_opaque, ctx.normals_opaque, ctx.indices_opaque);
-        Mesh meshTransparent = buildMeshFromContext(ctx.positions_transparent, ctx.uvs_transparent, ctx.normals_transparent, ctx.indices_transparent);
-
-        return new ChunkMeshBuildResult(meshOpaque, meshTransparent, ctx.atlasTexture);
     }
 
-    @Nullable
-    private static Mesh buildMeshFromContext(List<Float> positions, List<Float> uvs, List<Float> normals, List<Integer> indices) {
-        if (positions.isEmpty()) {
-            return null;
-        }
-        float[] posArray = toFloatArray(positions);
-        float[] uvArray = toFloatArray(uvs);
-        float[] normArray = toFloatArray(normals);
-        int[] idxArray = toIntArray(indices);
-        // Keep the '100' placeholder as requested
-        return new Mesh(posArray, uvArray, normArray, idxArray, 100);
+    private static int getMaskIndex(int[] pos, int uAxis, int u, int vAxis, int v) {
+        pos[uAxis] = u;
+        pos[vAxis] = v;
+        return ChunkData.getIndex(pos[0], pos[1], pos[2]);
     }
 
     /**
-     * Adds the vertex data for a single face to the appropriate lists in the build context.
+     * Adds a merged quad covering width x height faces, starting at (u, v) of the given slice.
      */
-    private static boolean addFace(MeshBuildContext ctx, boolean isOpaqueFace, int x, int y, int z, Block block, byte faceIndex) {
-        // 1. Get Texture Atlas Info
-        TextureAtlasInfo atlasInfo = getTextureAtlasInfoForBlock(ctx, block, faceIndex);
-        if (atlasInfo == null) {
-            // Attempt to use fallback texture
-            Loggers.RENDERER.error("ChunkMesher: Missing TextureAtlasInfo for block {}, face {} at [{},{},{}]. Using fallback.%n", block, faceIndex, x, y, z);
-            atlasInfo = ctx.textureManager.getTextureInfo("/textures/debug_missing.png");
-            if (atlasInfo == null) {
-                Loggers.RENDERER.error("ChunkMesher: FATAL - Fallback texture '/textures/debug_missing.png' not found in TextureManager!");
-                return false; // Critical if fallback is missing
-            }
-        }
+    private static void addGreedyQuad(MeshBuildContext ctx, int stateId, int face, int slice, int u, int width, int v, int height) {
+        int normalAxis = FACE_NORMAL_AXIS[face];
+        int uAxis = FACE_U_AXIS[face];
+        int vAxis = FACE_V_AXIS[face];
 
-        // 2. Store/Verify Atlas Texture (Ensures all geometry in this result uses one atlas)
-        if (ctx.atlasTexture == null) {
-            ctx.atlasTexture = atlasInfo.atlasTexture();
-        } else if (ctx.atlasTexture != atlasInfo.atlasTexture()) {
-            // This indicates a setup error - block textures are spread across multiple atlases,
-            // which this simple mesher doesn't support in a single pass.
-            Loggers.RENDERER.error("ChunkMesher: CRITICAL ERROR - Encountered multiple texture atlases during mesh generation! Cannot proceed.");
-            return false;
-        }
+        float[] corner = ctx.greedy.corner; // Every axis is set below for each vertex
+        TextureAtlasInfo atlasInfo = BlockModelCache.getFaceTexture(stateId, face);
 
-        // 3. Calculate start indices within Cube's static arrays
-        // (Cube provides vertices for a unit cube centered at origin)
-        int posStartIndex = faceIndex * 12; // faceIndex * 4 vertices * 3 floats/pos
-        int uvStartIndex = faceIndex * 8;   // faceIndex * 4 vertices * 2 floats/uv
-        int normStartIndex = faceIndex * 12; // faceIndex * 4 vertices * 3 floats/normal
-
-        // 4. Determine target lists and vertex offset from context 'ctx'
-        List<Float> targetPositions;
-        List<Float> targetUvs;
-        List<Float> targetNormals;
-        List<Integer> targetIndices;
-        int baseVertexIndex;
-
-        if (isOpaqueFace) {
-            targetPositions = ctx.positions_opaque;
-            targetUvs = ctx.uvs_opaque;
-            targetNormals = ctx.normals_opaque;
-            targetIndices = ctx.indices_opaque;
-            baseVertexIndex = ctx.currentVertexOffset_opaque;
-            ctx.currentVertexOffset_opaque += 4; // Increment for the next opaque face
-        } else {
-            targetPositions = ctx.positions_transparent;
-            targetUvs = ctx.uvs_transparent;
-            targetNormals = ctx.normals_transparent;
-            targetIndices = ctx.indices_transparent;
-            baseVertexIndex = ctx.currentVertexOffset_transparent;
-            ctx.currentVertexOffset_transparent += 4; // Increment for the next transparent face
-        }
+        MeshGeometryBuilder target = ctx.getBuilder(FaceCullingTable.isOpaque(stateId));
+        int baseVertexIndex = target.getVertexCount();
+
+        int posStartIndex = face * 12;
+        int uvStartIndex = face * 8;
 
-        // 5. Add the 4 vertices for this face to the TARGET lists
         for (int i = 0; i < 4; i++) {
-            // Position: Get base vertex relative to (0,0,0) and offset by block's position (x, y, z)
-            targetPositions.add(Cube.POSITIONS[posStartIndex + i * 3 + 0] + x);
-            targetPositions.add(Cube.POSITIONS[posStartIndex + i * 3 + 1] + y);
-            targetPositions.add(Cube.POSITIONS[posStartIndex + i * 3 + 2] + z);
-
-            // UVs: Get base UV (0-1 range) and map it to the atlas sub-region
-            float baseU = Cube.BASE_UVS[uvStartIndex + i * 2 + 0];
-            float baseV = Cube.BASE_UVS[uvStartIndex + i * 2 + 1];
-            float finalU = atlasInfo.u0() + baseU * atlasInfo.getWidthUV();
-            float finalV = atlasInfo.v0() + baseV * atlasInfo.getHeightUV();
-            targetUvs.add(finalU);
-            targetUvs.add(finalV);
-
-            // Normals: Use the base normal for the face
-            targetNormals.add(Cube.NORMALS[normStartIndex + i * 3 + 0]);
-            targetNormals.add(Cube.NORMALS[normStartIndex + i * 3 + 1]);
-            targetNormals.add(Cube.NORMALS[normStartIndex + i * 3 + 2]);
-        }
+            // Stretch the unit face: -0.5 sides stay on the first block, +0.5 sides move to the last one
+            for (int axis = 0; axis < 3; axis++) {
+                float basePos = Cube.POSITIONS[posStartIndex + i * 3 + axis];
+
+                if (axis == normalAxis) {
+                    corner[axis] = slice + basePos;
+                } else {
+                    int start = axis == uAxis ? u : v;
+                    int extent = axis == uAxis ? width : height;
+                    corner[axis] = basePos < 0 ? start - 0.5f : start + extent - 0.5f;
+                }
+            }
 
-        // 6. Add the 6 indices to the TARGET list (forming two triangles for the quad)
-        targetIndices.add(baseVertexIndex + 0);
-        targetIndices.add(baseVertexIndex + 1);
-        targetIndices.add(baseVertexIndex + 2);
-        targetIndices.add(baseVertexIndex + 0);
-        targetIndices.add(baseVertexIndex + 2);
-        targetIndices.add(baseVertexIndex + 3);
+            target.addVertex(
+                    corner[0], corner[1], corner[2],
+                    Cube.BASE_UVS[uvStartIndex + i * 2] * width, // Tile coordinates, one unit per block
+                    Cube.BASE_UVS[uvStartIndex + i * 2 + 1] * height,
+                    Cube.NORMALS[posStartIndex + i * 3],
+                    Cube.NORMALS[posStartIndex + i * 3 + 1],
+                    Cube.NORMALS[posStartIndex + i * 3 + 2],
+                    atlasInfo.u0(), atlasInfo.v0(), atlasInfo.getWidthUV(), atlasInfo.getHeightUV()
+            );
+        }
 
-        return true; // Success
+        target.addQuadIndices(baseVertexIndex);
     }
 
-    /**
-     * Looks up the TextureAtlasInfo using the TextureManager based on block type and face.
-     */
-    private static TextureAtlasInfo getTextureAtlasInfoForBlock(MeshBuildContext ctx, Block block, byte faceIndex) {
-        String texturePath = getTexturePathForBlockFace(block, faceIndex);
-        if (texturePath == null) {
-            // Logged within addFace now if fallback is used
-            return null;
+    private static int getNonZeroAxis(float[] vectors, int start) {
+        for (int axis = 0; axis < 3; axis++) {
+            if (vectors[start + axis] != 0) return axis;
         }
-        // TextureManager handles caching internally if needed
-        return ctx.textureManager.getTextureInfo(texturePath);
+        throw new IllegalStateException("Zero vector at " + start); // Should not happen
     }
 
-    /**
-     * Determines the texture resource path for a specific face of a block type.
-     * This defines the visual appearance mapping.
-     *
-     * Face indices: 0:Front(+Z), 1:Back(-Z), 2:Top(+Y), 3:Bottom(-Y), 4:Right(+X), 5:Left(-X)
-     */
-    private static String getTexturePathForBlockFace(Block block, byte faceIndex) {
-        Map<Block.Face, String> textures = block.getSettings().getFaceProperties().getTextures();
-        return textures.get(block.getSettings().getFaceProperties().getFaceFromIndex(faceIndex));
-    }
-
-    // --- Array Conversion Helpers ---
-    private static float[] toFloatArray(List<Float> list) {
-        float[] array = new float[list.size()];
-        for (int i = 0; i < list.size(); i++) array[i] = list.get(i);
-        return array;
+    private static int getChangedAxis(float[] vectors, int startA, int startB) {
+        for (int axis = 0; axis < 3; axis++) {
+            if (vectors[startA + axis] != vectors[startB + axis]) return axis;
+        }
+        throw new IllegalStateException("Equal vectors at " + startA + " and " + startB); // Should not happen
     }
 
-    private static int[] toIntArray(List<Integer> list) {
-        int[] array = new int[list.size()];
-        for (int i = 0; i < list.size(); i++) array[i] = list.get(i);
-        return array;
+    @Nullable
+    private static MeshGeometryBuilder takeIfNotEmpty(MeshGeometryBuilder builder) {
+        if (builder.isEmpty()) {
+            builder.free();
+            return null;
+        }
+        return builder;
     }
-}
\ No newline at end of file
+}
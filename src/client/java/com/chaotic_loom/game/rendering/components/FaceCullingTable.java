@@ -0,0 +1,120 @@
+package com.chaotic_loom.game.rendering.components;
+
+import com.chaotic_loom.game.core.Loggers;
+import com.chaotic_loom.game.registries.built_in.Blocks;
+import com.chaotic_loom.game.world.components.Block;
+import com.chaotic_loom.game.world.components.BlockInstance;
+
+/**
+ * Precomputed visibility rules for the mesher, baked once every block state is registered.
+ * Answers "does this face of this state show against that neighbour state?" with a single bit read,
+ * instead of resolving both blocks and their settings for every face.
+ *
+ * Faces use the Block.Face indices. Read-only after bake(), so it is safe to use from the meshing workers.
+ */
+public final class FaceCullingTable {
+    private FaceCullingTable() {} // Static class
+
+    private static final int FACE_COUNT = 6;
+
+    private static int stateCount = 0;
+    private static long[] visibleFaces = new long[0]; // Bit per (state, neighbour state, face), see getBitIndex
+    private static boolean[] opaqueStates = new boolean[0];
+    private static boolean[] airStates = new boolean[0];
+
+    /**
+     * Bakes the tables from the registered block states.
+     * Must be called after registration finished, and again if new states get registered.
+     */
+    public static void bake() {
+        int count = BlockInstance.getStateCount();
+
+        boolean[] opaque = new boolean[count];
+        boolean[] air = new boolean[count];
+        Block[] blocks = new Block[count];
+
+        for (int stateId = 0; stateId < count; stateId++) {
+            Block block = BlockInstance.byStateId(stateId).getBlock();
+            blocks[stateId] = block;
+            opaque[stateId] = !block.getSettings().isTransparent();
+            air[stateId] = block == Blocks.AIR;
+        }
+
+        long[] visible = new long[(int) (((long) count * count * FACE_COUNT + 63) >>> 6)];
+
+        for (int stateId = 0; stateId < count; stateId++) {
+            if (air[stateId]) continue; // Air has no faces
+
+            for (int neighborId = 0; neighborId < count; neighborId++) {
+                if (!isFaceVisible(blocks[stateId], opaque[stateId], blocks[neighborId], opaque[neighborId], air[neighborId])) {
+                    continue;
+                }
+
+                // The rule does not depend on the face yet, but shapes like slabs will
+                for (int face = 0; face < FACE_COUNT; face++) {
+                    int bit = getBitIndex(count, stateId, neighborId, face);
+                    visible[bit >>> 6] |= 1L << bit;
+                }
+            }
+        }
+
+        visibleFaces = visible;
+        opaqueStates = opaque;
+        airStates = air;
+        stateCount = count;
+
+        Loggers.RENDERER.info("FaceCullingTable: Baked visibility of {} block states ({} bytes).", count, visible.length * 8L);
+    }
+
+    /**
+     * Visibility rule: render a face if
+     * 1. Both blocks differ and the current one is opaque while the neighbour is transparent/air.
+     * 2. The current block is transparent and the neighbour is air (transparent faces don't show against other blocks).
+     * Faces between identical blocks are never rendered (e.g., stone touching stone).
+     */
+    private static boolean isFaceVisible(Block block, boolean opaque, Block neighbor, boolean neighborOpaque, boolean neighborAir) {
+        if (block == neighbor && opaque == neighborOpaque) {
+            return false;
+        }
+
+        if (opaque) {
+            return !neighborOpaque;
+        }
+
+        return neighborAir;
+    }
+
+    private static int getBitIndex(int count, int stateId, int neighborStateId, int face) {
+        return (stateId * count + neighborStateId) * FACE_COUNT + face;
+    }
+
+    /**
+     * @param stateId The state owning the face.
+     * @param neighborStateId The state on the other side of the face.
+     * @param face Block.Face index.
+     * @return true if the face must be meshed. IDs must be below getStateCount(), they are NOT bounds checked.
+     */
+    public static boolean shouldRenderFace(int stateId, int neighborStateId, int face) {
+        int bit = getBitIndex(stateCount, stateId, neighborStateId, face);
+        return (visibleFaces[bit >>> 6] & (1L << bit)) != 0;
+    }
+
+    public static boolean isOpaque(int stateId) {
+        return opaqueStates[stateId];
+    }
+
+    public static boolean isAir(int stateId) {
+        return airStates[stateId];
+    }
+
+    /**
+     * @return The amount of states baked, 0 if bake() was never called.
+     */
+    public static int getStateCount() {
+        return stateCount;
+    }
+
+    public static boolean isBaked() {
+        return stateCount > 0 && stateCount == BlockInstance.getStateCount();
+    }
+}
@@ -0,0 +1,35 @@
+package com.chaotic_loom.game.rendering.mesh;
+
+/**
+ * A quad of a block model with everything resolved up front: rotated positions (relative to the block center),
+ * rotated normals and final atlas UVs. Emitting it is a copy plus the block offset.
+ *
+ * @param positions 4 vertices * 3 floats
+ * @param uvs 4 vertices * 2 floats
+ * @param normals 4 vertices * 3 floats
+ * @param opaque Whether it goes to the opaque or the transparent mesh.
+ */
+public record BakedQuad(float[] positions, float[] uvs, float[] normals, boolean opaque) {
+    public BakedQuad {
+        if (positions.length != 12 || uvs.length != 8 || normals.length != 12) {
+            throw new IllegalArgumentException("A baked quad needs exactly 4 vertices");
+        }
+    }
+
+    /**
+     * Appends the quad to the builder, moved to the given block position.
+     */
+    public void emit(MeshGeometryBuilder target, float x, float y, float z) {
+        int baseVertexIndex = target.getVertexCount();
+
+        for (int i = 0; i < 4; i++) {
+            target.addVertex(
+                    positions[i * 3] + x, positions[i * 3 + 1] + y, positions[i * 3 + 2] + z,
+                    uvs[i * 2], uvs[i * 2 + 1],
+                    normals[i * 3], normals[i * 3 + 1], normals[i * 3 + 2]
+            );
+        }
+
+        target.addQuadIndices(baseVertexIndex);
+    }
+}
@@ -25,6 +25,7 @@ public class Mesh {
     public static final int INSTANCE_MODEL_MATRIX_LOC_START = 3; // mat4 uses 4 locations (3, 4, 5, 6)
     public static final int INSTANCE_UV_OFFSET_LOC = 7;
     public static final int INSTANCE_UV_SCALE_LOC = 8;
+    public static final int TILE_REGION_VBO_ID = 9; // Optional, atlas region (u0, v0, width, height) repeated over merged quads
 
     private final int vaoId;
     private final List<Integer> vboIdList; // Store VBO IDs for cleanup
@@ -36,17 +37,33 @@ public class Mesh {
     private FloatBuffer instanceDataBuffer; // Reusable buffer for instance data
 
     public Mesh(float[] positions, float[] textCoords, float[] normals, int[] indices, int initialMaxInstances) {
-        FloatBuffer posBuffer = null;
-        FloatBuffer textCoordsBuffer = null;
-        FloatBuffer vecNormalsBuffer = null;
-        IntBuffer indicesBuffer = null;
+        // Copied into temporary off-heap buffers, freed once uploaded
+        this(toBuffer(positions), toBuffer(textCoords), toBuffer(normals), null, toBuffer(indices), initialMaxInstances, true);
+    }
+
+    /**
+     * Creates a mesh from direct buffers, uploading the data between their position and limit without copying it.
+     * The buffers are NOT freed, they still belong to the caller.
+     */
+    public Mesh(FloatBuffer positions, FloatBuffer textCoords, FloatBuffer normals, IntBuffer indices, int initialMaxInstances) {
+        this(positions, textCoords, normals, null, indices, initialMaxInstances, false);
+    }
 
+    /**
+     * Same as above, plus a per-vertex tile region (4 floats per vertex, see default.vert).
+     * Vertices with a region width > 0 use their texture coordinates as tile coordinates repeated inside that atlas region.
+     */
+    public Mesh(FloatBuffer positions, FloatBuffer textCoords, FloatBuffer normals, FloatBuffer tileRegions, IntBuffer indices, int initialMaxInstances) {
+        this(positions, textCoords, normals, tileRegions, indices, initialMaxInstances, false);
+    }
+
+    private Mesh(FloatBuffer posBuffer, FloatBuffer textCoordsBuffer, FloatBuffer vecNormalsBuffer, FloatBuffer tileRegionsBuffer, IntBuffer indicesBuffer, int initialMaxInstances, boolean freeBuffers) {
         try {
-            if (positions == null || indices == null) {
+            if (posBuffer == null || indicesBuffer == null) {
                 throw new IllegalArgumentException("Positions and indices cannot be null for an indexed mesh.");
             }
-            this.vertexCount = positions.length / 3; // 3 components per position
-            this.indicesCount = indices.length;
+            this.vertexCount = posBuffer.remaining() / 3; // 3 components per position
+            this.indicesCount = indicesBuffer.remaining();
             this.maxInstances = initialMaxInstances > 0 ? initialMaxInstances : 1; // Ensure at least 1
             vboIdList = new ArrayList<>();
 
@@ -58,24 +75,20 @@ public class Mesh {
             // Position VBO (Attribute 0)
             int vboId = glGenBuffers();
             vboIdList.add(vboId);
-            posBuffer = MemoryUtil.memAllocFloat(positions.length);
-            posBuffer.put(positions).flip();
             glBindBuffer(GL_ARRAY_BUFFER, vboId);
             glBufferData(GL_ARRAY_BUFFER, posBuffer, GL_STATIC_DRAW);
             glVertexAttribPointer(POSITION_VBO_ID, 3, GL_FLOAT, false, 0, 0);
             glEnableVertexAttribArray(POSITION_VBO_ID);
 
             // Texture Coordinate VBO (Attribute 1)
-            if (textCoords != null && textCoords.length > 0) {
+            if (textCoordsBuffer != null && textCoordsBuffer.hasRemaining()) {
                 vboId = glGenBuffers();
                 vboIdList.add(vboId);
-                textCoordsBuffer = MemoryUtil.memAllocFloat(textCoords.length);
                 // IMPORTANT: Ensure textCoords length matches vertex count (e.g., textCoords.length == vertexCount * 2)
-                if (textCoords.length != this.vertexCount * 2) {
+                if (textCoordsBuffer.remaining() != this.vertexCount * 2) {
                     Loggers.RENDERER.error("Warning: Texture coordinate array size mismatch for mesh.");
                     // Handle error or provide default coords
                 }
-                textCoordsBuffer.put(textCoords).flip();
                 glBindBuffer(GL_ARRAY_BUFFER, vboId);
                 glBufferData(GL_ARRAY_BUFFER, textCoordsBuffer, GL_STATIC_DRAW);
                 glVertexAttribPointer(TEXTURE_COORDS_VBO_ID, 2, GL_FLOAT, false, 0, 0);
@@ -87,16 +100,14 @@ public class Mesh {
 
 
             // Vertex Normal VBO (Attribute 2)
-            if (normals != null && normals.length > 0) {
+            if (vecNormalsBuffer != null && vecNormalsBuffer.hasRemaining()) {
                 vboId = glGenBuffers();
                 vboIdList.add(vboId);
-                vecNormalsBuffer = MemoryUtil.memAllocFloat(normals.length);
                 // IMPORTANT: Ensure normals length matches vertex count (e.g., normals.length == vertexCount * 3)
-                if (normals.length != this.vertexCount * 3) {
+                if (vecNormalsBuffer.remaining() != this.vertexCount * 3) {
                     Loggers.RENDERER.error("Warning: Normal array size mismatch for mesh.");
                     // Handle error or provide default normals
                 }
-                vecNormalsBuffer.put(normals).flip();
                 glBindBuffer(GL_ARRAY_BUFFER, vboId);
                 glBufferData(GL_ARRAY_BUFFER, vecNormalsBuffer, GL_STATIC_DRAW);
                 glVertexAttribPointer(NORMALS_VBO_ID, 3, GL_FLOAT, false, 0, 0);
@@ -106,11 +117,22 @@ public class Mesh {
                 // Consider disabling lighting or using default normals if needed
             }
 
+            // Tile Region VBO (Attribute 9), optional
+            if (tileRegionsBuffer != null && tileRegionsBuffer.hasRemaining()) {
+                vboId = glGenBuffers();
+                vboIdList.add(vboId);
+                if (tileRegionsBuffer.remaining() != this.vertexCount * 4) {
+                    Loggers.RENDERER.error("Warning: Tile region array size mismatch for mesh.");
+                }
+                glBindBuffer(GL_ARRAY_BUFFER, vboId);
+                glBufferData(GL_ARRAY_BUFFER, tileRegionsBuffer, GL_STATIC_DRAW);
+                glVertexAttribPointer(TILE_REGION_VBO_ID, 4, GL_FLOAT, false, 0, 0);
+                glEnableVertexAttribArray(TILE_REGION_VBO_ID);
+            }
+
             // Index VBO (EBO)
             vboId = glGenBuffers();
             vboIdList.add(vboId); // Also track EBO for cleanup
-            indicesBuffer = MemoryUtil.memAllocInt(indices.length);
-            indicesBuffer.put(indices).flip();
             glBindBuffer(GL_ELEMENT_ARRAY_BUFFER, vboId);
             glBufferData(GL_ELEMENT_ARRAY_BUFFER, indicesBuffer, GL_STATIC_DRAW);
 
@@ -159,15 +181,32 @@ public class Mesh {
 
 
         } finally {
-            // Free the temporary CPU-side buffers for vertex data
-            if (posBuffer != null) MemoryUtil.memFree(posBuffer);
-            if (textCoordsBuffer != null) MemoryUtil.memFree(textCoordsBuffer);
-            if (vecNormalsBuffer != null) MemoryUtil.memFree(vecNormalsBuffer);
-            if (indicesBuffer != null) MemoryUtil.memFree(indicesBuffer);
+            // Free the temporary CPU-side buffers for vertex data, if we own them
+            if (freeBuffers) {
+                if (posBuffer != null) MemoryUtil.memFree(posBuffer);
+                if (textCoordsBuffer != null) MemoryUtil.memFree(textCoordsBuffer);
+                if (vecNormalsBuffer != null) MemoryUtil.memFree(vecNormalsBuffer);
+                if (tileRegionsBuffer != null) MemoryUtil.memFree(tileRegionsBuffer);
+                if (indicesBuffer != null) MemoryUtil.memFree(indicesBuffer);
+            }
             // We keep instanceDataBuffer allocated for reuse
         }
     }
 
+    private static FloatBuffer toBuffer(float[] array) {
+        if (array == null) return null;
+        FloatBuffer buffer = MemoryUtil.memAllocFloat(array.length);
+        buffer.put(array).flip();
+        return buffer;
+    }
+
+    private static IntBuffer toBuffer(int[] array) {
+        if (array == null) return null;
+        IntBuffer buffer = MemoryUtil.memAllocInt(array.length);
+        buffer.put(array).flip();
+        return buffer;
+    }
+
     /**
      * Updates the instance data VBO with the provided transformations and UV info.
      * Automatically resizes the VBO if needed.
@@ -239,6 +278,7 @@ public class Mesh {
         glDisableVertexAttribArray(POSITION_VBO_ID);
         glDisableVertexAttribArray(TEXTURE_COORDS_VBO_ID);
         glDisableVertexAttribArray(NORMALS_VBO_ID);
+        glDisableVertexAttribArray(TILE_REGION_VBO_ID);
         for(int i = 0; i < 4; ++i) glDisableVertexAttribArray(INSTANCE_MODEL_MATRIX_LOC_START + i);
         glDisableVertexAttribArray(INSTANCE_UV_OFFSET_LOC);
         glDisableVertexAttribArray(INSTANCE_UV_SCALE_LOC);
@@ -0,0 +1,166 @@
+package com.chaotic_loom.game.rendering.mesh;
+
+import org.lwjgl.system.MemoryUtil;
+
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+
+/**
+ * Growable off-heap vertex and index storage used while building meshes.
+ * Layout matches the Mesh attributes (positions, uvs, normals, tile regions + indices), so Mesh can upload it as is.
+ *
+ * Not thread-safe, and the memory is NOT managed by the GC: call free() once done (uploading does not free it).
+ */
+public class MeshGeometryBuilder {
+    private static final int POSITION_SIZE = 3;
+    private static final int UV_SIZE = 2;
+    private static final int NORMAL_SIZE = 3;
+    private static final int TILE_REGION_SIZE = 4;
+
+    private FloatBuffer positions;
+    private FloatBuffer uvs;
+    private FloatBuffer normals;
+    private FloatBuffer tileRegions;
+    private IntBuffer indices;
+
+    private int vertexCapacity;
+    private int indexCapacity;
+    private int vertexCount = 0;
+    private int indexCount = 0;
+
+    /**
+     * @param initialVertexCapacity Vertices that fit before the first reallocation.
+     */
+    public MeshGeometryBuilder(int initialVertexCapacity) {
+        this.vertexCapacity = Math.max(4, initialVertexCapacity);
+        this.indexCapacity = vertexCapacity / 4 * 6; // Quads: 4 vertices, 6 indices
+
+        this.positions = MemoryUtil.memAllocFloat(vertexCapacity * POSITION_SIZE);
+        this.uvs = MemoryUtil.memAllocFloat(vertexCapacity * UV_SIZE);
+        this.normals = MemoryUtil.memAllocFloat(vertexCapacity * NORMAL_SIZE);
+        this.tileRegions = MemoryUtil.memAllocFloat(vertexCapacity * TILE_REGION_SIZE);
+        this.indices = MemoryUtil.memAllocInt(indexCapacity);
+    }
+
+    /**
+     * Appends a vertex with final atlas UVs.
+     * @return The index of the new vertex, to be used in addIndex / addQuadIndices.
+     */
+    public int addVertex(float x, float y, float z, float u, float v, float nx, float ny, float nz) {
+        return addVertex(x, y, z, u, v, nx, ny, nz, 0, 0, 0, 0);
+    }
+
+    /**
+     * Appends a vertex whose UVs are tile coordinates, repeated inside the given atlas region by the shader.
+     * A region width of 0 means the UVs are final atlas UVs.
+     * @return The index of the new vertex, to be used in addIndex / addQuadIndices.
+     */
+    public int addVertex(float x, float y, float z, float u, float v, float nx, float ny, float nz,
+                         float regionU0, float regionV0, float regionWidth, float regionHeight) {
+        if (vertexCount == vertexCapacity) {
+            growVertices();
+        }
+
+        positions.put(x).put(y).put(z);
+        uvs.put(u).put(v);
+        normals.put(nx).put(ny).put(nz);
+        tileRegions.put(regionU0).put(regionV0).put(regionWidth).put(regionHeight);
+
+        return vertexCount++;
+    }
+
+    public void addIndex(int index) {
+        if (indexCount == indexCapacity) {
+            growIndices();
+        }
+
+        indices.put(index);
+        indexCount++;
+    }
+
+    /**
+     * Adds the two triangles of a quad whose 4 vertices start at baseVertex (0-1-2, 0-2-3).
+     */
+    public void addQuadIndices(int baseVertex) {
+        if (indexCount + 6 > indexCapacity) {
+            growIndices();
+        }
+
+        indices.put(baseVertex).put(baseVertex + 1).put(baseVertex + 2)
+                .put(baseVertex).put(baseVertex + 2).put(baseVertex + 3);
+        indexCount += 6;
+    }
+
+    private void growVertices() {
+        vertexCapacity *= 2;
+        positions = MemoryUtil.memRealloc(positions, vertexCapacity * POSITION_SIZE); // Keeps the write position
+        uvs = MemoryUtil.memRealloc(uvs, vertexCapacity * UV_SIZE);
+        normals = MemoryUtil.memRealloc(normals, vertexCapacity * NORMAL_SIZE);
+        tileRegions = MemoryUtil.memRealloc(tileRegions, vertexCapacity * TILE_REGION_SIZE);
+    }
+
+    private void growIndices() {
+        indexCapacity = Math.max(indexCapacity * 2, indexCount + 6);
+        indices = MemoryUtil.memRealloc(indices, indexCapacity);
+    }
+
+    public int getVertexCount() {
+        return vertexCount;
+    }
+
+    public int getIndexCount() {
+        return indexCount;
+    }
+
+    public boolean isEmpty() {
+        return vertexCount == 0;
+    }
+
+    /**
+     * Drops all geometry but keeps the allocated memory for reuse.
+     */
+    public void reset() {
+        positions.clear();
+        uvs.clear();
+        normals.clear();
+        tileRegions.clear();
+        indices.clear();
+        vertexCount = 0;
+        indexCount = 0;
+    }
+
+    // --- Read-only views of the written data, share memory with the builder ---
+    public FloatBuffer getPositions() { return positions.duplicate().flip(); }
+    public FloatBuffer getUvs() { return uvs.duplicate().flip(); }
+    public FloatBuffer getNormals() { return normals.duplicate().flip(); }
+    public FloatBuffer getTileRegions() { return tileRegions.duplicate().flip(); }
+    public IntBuffer getIndices() { return indices.duplicate().flip(); }
+
+    /**
+     * Uploads the geometry into a new Mesh. Must be called on the render thread.
+     */
+    public Mesh upload(int initialMaxInstances) {
+        return new Mesh(getPositions(), getUvs(), getNormals(), getTileRegions(), getIndices(), initialMaxInstances);
+    }
+
+    /**
+     * Frees the off-heap memory, the builder must not be used afterwards.
+     */
+    public void free() {
+        if (positions == null) {
+            return; // Already freed
+        }
+
+        MemoryUtil.memFree(positions);
+        MemoryUtil.memFree(uvs);
+        MemoryUtil.memFree(normals);
+        MemoryUtil.memFree(tileRegions);
+        MemoryUtil.memFree(indices);
+
+        positions = null;
+        uvs = null;
+        normals = null;
+        tileRegions = null;
+        indices = null;
+    }
+}
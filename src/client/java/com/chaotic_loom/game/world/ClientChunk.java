@@ -1,39 +1,48 @@
 package com.chaotic_loom.game.world;
 
-import com.chaotic_loom.game.rendering.TextureManager;
 import com.chaotic_loom.game.rendering.components.ChunkMesher;
 import com.chaotic_loom.game.rendering.mesh.Mesh;
 import com.chaotic_loom.game.rendering.texture.Texture;
+import com.chaotic_loom.game.rendering.texture.TextureAtlasInfo;
 import com.chaotic_loom.game.world.components.Block;
 import com.chaotic_loom.game.world.components.BlockInstance;
 import org.jetbrains.annotations.Nullable;
+import org.joml.Matrix4f;
 import org.joml.Vector3f;
 
 import static com.chaotic_loom.game.core.util.SharedConstants.*;
 
+/**
+ * Client side chunk: block data plus its meshes.
+ * Only meant to be used from the render thread, meshing works on snapshots (see ChunkMeshScheduler).
+ */
 public class ClientChunk {
 
     private final ChunkData chunkData; // The block data
-    private final TextureManager textureManager; // Needed for remeshing
-    // private final WorldAccessor world; // Needed for seamless meshing
+    @Nullable private final ClientWorld world; // Needed for seamless meshing, null for standalone chunks
 
     @Nullable private Mesh meshOpaque = null;
     @Nullable private Mesh meshTransparent = null;
     @Nullable private Texture atlasTexture = null; // Texture used by meshes
+    @Nullable private TextureAtlasInfo atlasInfo = null; // Whole atlas, chunk meshes carry their own UVs
 
     private boolean dirty = true; // Needs remeshing initially
+    private int revision = 0; // Bumped on every block change
+    private int scheduledRevision = -1; // Revision of the last snapshot handed to the mesher
+    private boolean unloaded = false;
     private final Vector3f worldPosition; // Position for rendering transforms
+    private final Matrix4f modelMatrix;
 
-    public ClientChunk(ChunkData chunkData, TextureManager textureManager /*, WorldAccessor world */) {
+    public ClientChunk(ChunkData chunkData, @Nullable ClientWorld world) {
         this.chunkData = chunkData;
-        this.textureManager = textureManager;
-        // this.world = world;
+        this.world = world;
         // Calculate world position based on chunk coordinates for rendering
         this.worldPosition = new Vector3f(
                 chunkData.getChunkX() * CHUNK_WIDTH,
                 chunkData.getChunkY() * CHUNK_HEIGHT,
                 chunkData.getChunkZ() * CHUNK_DEPTH
         );
+        this.modelMatrix = new Matrix4f().translation(worldPosition);
         // Initial mesh build could be triggered here or managed externally
     }
 
@@ -46,14 +55,35 @@ public class ClientChunk {
      */
     public void updateBlock(int x, int y, int z, BlockInstance block) {
         if (chunkData.setBlock(x, y, z, block)) {
-            this.dirty = true;
-            // TODO: If block is on a chunk border, mark neighbor ClientChunks as dirty too!
+            markDirty();
+
+            // Border blocks are part of the neighbour meshes too (face culling)
+            if (world != null) {
+                int cx = chunkData.getChunkX();
+                int cy = chunkData.getChunkY();
+                int cz = chunkData.getChunkZ();
+
+                if (x == 0) world.markChunkDirty(cx - 1, cy, cz);
+                if (x == CHUNK_WIDTH - 1) world.markChunkDirty(cx + 1, cy, cz);
+                if (y == 0) world.markChunkDirty(cx, cy - 1, cz);
+                if (y == CHUNK_HEIGHT - 1) world.markChunkDirty(cx, cy + 1, cz);
+                if (z == 0) world.markChunkDirty(cx, cy, cz - 1);
+                if (z == CHUNK_DEPTH - 1) world.markChunkDirty(cx, cy, cz + 1);
+            }
         }
     }
 
     /**
-     * Rebuilds the chunk's meshes if it's marked as dirty.
-     * This might be called from a separate thread pool.
+     * Marks the chunk for remeshing, meshes still being built for the previous state get dropped.
+     */
+    public void markDirty() {
+        this.dirty = true;
+        this.revision++;
+    }
+
+    /**
+     * Rebuilds the chunk's meshes synchronously if it's marked as dirty.
+     * Blocks the render thread for the whole build, prefer ChunkMeshScheduler.
      */
     public void rebuildMeshIfNeeded() {
         if (!dirty) return;
@@ -62,18 +92,64 @@ public class ClientChunk {
         cleanupMeshes();
 
         // 2. Generate new meshes
-        ChunkMesher.ChunkMeshBuildResult result = ChunkMesher.generateMeshes(chunkData, textureManager /*, world */);
+        ChunkMesher.ChunkMeshBuildResult result = ChunkMesher.generateMeshes(chunkData, world);
 
         // 3. Store results
-        if (result != null) {
-            this.meshOpaque = result.meshOpaque();
-            this.meshTransparent = result.meshTransparent();
-            this.atlasTexture = result.atlasTexture();
-        }
+        storeMeshes(result);
 
         this.dirty = false; // Mark clean
     }
 
+    /**
+     * @return true if the chunk is dirty and its current revision has not been handed to the mesher yet.
+     */
+    public boolean needsMeshing() {
+        return dirty && !unloaded && scheduledRevision != revision;
+    }
+
+    /**
+     * Takes an immutable copy of the block data (and the neighbour borders) for meshing and remembers its revision as scheduled.
+     */
+    public PaddedChunkSnapshot createMeshSnapshot() {
+        this.scheduledRevision = revision;
+        return PaddedChunkSnapshot.create(chunkData, world);
+    }
+
+    /**
+     * Uploads geometry built from a snapshot, replacing the current meshes.
+     * A failed build (null geometry) keeps the current meshes and leaves the chunk dirty. That revision is not
+     * scheduled again, a failing build would most likely fail every time, the next block change retries it.
+     * @param geometry The built geometry, null if the build failed.
+     * @param builtRevision Revision of the snapshot the geometry was built from.
+     * @return false if the geometry is stale (the chunk changed or got unloaded meanwhile) or missing, and was dropped.
+     */
+    public boolean applyGeometry(@Nullable ChunkMesher.ChunkGeometry geometry, int builtRevision) {
+        if (unloaded || builtRevision != revision) {
+            return false;
+        }
+
+        if (geometry == null) {
+            return false; // scheduledRevision stays at the failed revision until markDirty bumps it
+        }
+
+        cleanupMeshes();
+        storeMeshes(geometry.upload());
+
+        this.dirty = false;
+        return true;
+    }
+
+    private void storeMeshes(@Nullable ChunkMesher.ChunkMeshBuildResult result) {
+        if (result == null) {
+            return;
+        }
+
+        this.meshOpaque = result.meshOpaque();
+        this.meshTransparent = result.meshTransparent();
+        this.atlasTexture = result.atlasTexture();
+        this.atlasInfo = atlasTexture != null ? new TextureAtlasInfo(atlasTexture, 0, 0, 1, 1) : null;
+    }
+
     /** Safely cleans up existing mesh resources. */
     private void cleanupMeshes() {
         if (meshOpaque != null) {
@@ -85,10 +161,12 @@ public class ClientChunk {
             meshTransparent = null;
         }
         atlasTexture = null; // Atlas is managed by TextureManager, just clear ref
+        atlasInfo = null;
     }
 
-    /** Cleans up meshes when the chunk is unloaded. */
+    /** Cleans up meshes when the chunk is unloaded. Pending mesh results get dropped. */
     public void unload() {
+        unloaded = true;
         cleanupMeshes();
     }
 
@@ -97,7 +175,10 @@ public class ClientChunk {
     @Nullable public Mesh getMeshOpaque() { return meshOpaque; }
     @Nullable public Mesh getMeshTransparent() { return meshTransparent; }
     @Nullable public Texture getAtlasTexture() { return atlasTexture; }
+    @Nullable public TextureAtlasInfo getAtlasInfo() { return atlasInfo; }
     public boolean isDirty() { return dirty; }
+    public int getRevision() { return revision; }
     public Vector3f getWorldPosition() { return worldPosition; } // For rendering transform
+    public Matrix4f getModelMatrix() { return modelMatrix; }
 
 }
\ No newline at end of file
@@ -0,0 +1,112 @@
+package com.chaotic_loom.game.world;
+
+import com.chaotic_loom.game.world.components.BlockInstance;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static com.chaotic_loom.game.core.util.SharedConstants.*;
+
+/**
+ * The chunks loaded on the client.
+ * Keeps neighbouring meshes consistent: loading, unloading or changing a border block re-dirties the chunks next to it.
+ * Only meant to be used from the render thread.
+ */
+public class ClientWorld implements WorldAccessor {
+    private final Map<Long, ClientChunk> chunks = new HashMap<>();
+
+    /**
+     * Adds (or replaces) a chunk, its neighbours get remeshed so the faces against it get culled.
+     * @return The created client chunk.
+     */
+    public ClientChunk addChunk(ChunkData chunkData) {
+        int cx = chunkData.getChunkX();
+        int cy = chunkData.getChunkY();
+        int cz = chunkData.getChunkZ();
+
+        ClientChunk chunk = new ClientChunk(chunkData, this);
+        ClientChunk previous = chunks.put(getKey(cx, cy, cz), chunk);
+        if (previous != null) {
+            previous.unload();
+        }
+
+        markNeighborsDirty(cx, cy, cz);
+        return chunk;
+    }
+
+    /**
+     * Removes and unloads a chunk, its neighbours get remeshed to show the now uncovered faces.
+     */
+    public void removeChunk(int chunkX, int chunkY, int chunkZ) {
+        ClientChunk chunk = chunks.remove(getKey(chunkX, chunkY, chunkZ));
+        if (chunk == null) {
+            return;
+        }
+
+        chunk.unload();
+        markNeighborsDirty(chunkX, chunkY, chunkZ);
+    }
+
+    /**
+     * Sets a block using world block coordinates.
+     * @return false if the containing chunk is not loaded.
+     */
+    public boolean setBlock(int x, int y, int z, BlockInstance block) {
+        ClientChunk chunk = getClientChunk(Math.floorDiv(x, CHUNK_WIDTH), Math.floorDiv(y, CHUNK_HEIGHT), Math.floorDiv(z, CHUNK_DEPTH));
+        if (chunk == null) {
+            return false;
+        }
+
+        chunk.updateBlock(Math.floorMod(x, CHUNK_WIDTH), Math.floorMod(y, CHUNK_HEIGHT), Math.floorMod(z, CHUNK_DEPTH), block);
+        return true;
+    }
+
+    public void markChunkDirty(int chunkX, int chunkY, int chunkZ) {
+        ClientChunk chunk = getClientChunk(chunkX, chunkY, chunkZ);
+        if (chunk != null) {
+            chunk.markDirty();
+        }
+    }
+
+    private void markNeighborsDirty(int chunkX, int chunkY, int chunkZ) {
+        markChunkDirty(chunkX - 1, chunkY, chunkZ);
+        markChunkDirty(chunkX + 1, chunkY, chunkZ);
+        markChunkDirty(chunkX, chunkY - 1, chunkZ);
+        markChunkDirty(chunkX, chunkY + 1, chunkZ);
+        markChunkDirty(chunkX, chunkY, chunkZ - 1);
+        markChunkDirty(chunkX, chunkY, chunkZ + 1);
+    }
+
+    @Nullable
+    public ClientChunk getClientChunk(int chunkX, int chunkY, int chunkZ) {
+        return chunks.get(getKey(chunkX, chunkY, chunkZ));
+    }
+
+    @Override
+    @Nullable
+    public ChunkData getChunk(int chunkX, int chunkY, int chunkZ) {
+        ClientChunk chunk = getClientChunk(chunkX, chunkY, chunkZ);
+        return chunk != null ? chunk.getChunkData() : null;
+    }
+
+    public Collection<ClientChunk> getChunks() {
+        return Collections.unmodifiableCollection(chunks.values());
+    }
+
+    /**
+     * Unloads every chunk.
+     */
+    public void cleanup() {
+        for (ClientChunk chunk : chunks.values()) {
+            chunk.unload();
+        }
+        chunks.clear();
+    }
+
+    private static long getKey(int chunkX, int chunkY, int chunkZ) {
+        return ChunkData.getPositionKey(chunkX, chunkY, chunkZ);
+    }
+}
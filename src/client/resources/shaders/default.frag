@@ -3,6 +3,7 @@
 // Inputs from the vertex shader
 in vec2 outTexCoord;
 in vec3 outNormal;
+flat in vec4 outTileRegion;
 
 // Uniforms
 uniform vec3 tintColor;
@@ -13,7 +14,16 @@ out vec4 FragColor;
 
 void main()
 {
-    vec4 texColor = texture(textureSampler, outTexCoord);
+    vec4 texColor;
+    if (outTileRegion.z > 0.0) {
+        // Merged quad: outTexCoord counts tiles, repeat the texture inside its atlas region
+        vec2 tiledCoord = outTileRegion.xy + fract(outTexCoord) * outTileRegion.zw;
+        // Gradients from the unwrapped coordinate, so the fract() jump does not pick a tiny mip level at tile edges
+        vec2 unwrappedCoord = outTexCoord * outTileRegion.zw;
+        texColor = textureGrad(textureSampler, tiledCoord, dFdx(unwrappedCoord), dFdy(unwrappedCoord));
+    } else {
+        texColor = texture(textureSampler, outTexCoord);
+    }
 
     vec3 finalRGB = texColor.rgb * tintColor;
     float finalAlpha = texColor.a;
@@ -14,6 +14,10 @@ layout (location=6) in vec4 instanceModelMatrixCol3;
 layout (location=7) in vec2 instanceUvOffset; // (u0, v0) for this instance's texture region
 layout (location=8) in vec2 instanceUvScale;  // (widthUV, heightUV) for this instance's texture region
 
+// Optional per-vertex tile region (u0, v0, widthUV, heightUV), used by greedy merged chunk quads.
+// Meshes without it read the default (0, 0, 0, 1), width 0 means baseTexCoord already is an atlas UV.
+layout (location=9) in vec4 tileRegion;
+
 // Uniforms
 uniform mat4 viewMatrix;
 uniform mat4 projectionMatrix;
@@ -21,6 +25,7 @@ uniform mat4 projectionMatrix;
 // Outputs sent to the fragment shader
 out vec2 outTexCoord;
 out vec3 outNormal;
+flat out vec4 outTileRegion;
 
 void main()
 {
@@ -37,4 +42,5 @@ void main()
     // Pass other attributes to fragment shader
     outTexCoord = instanceUvOffset + baseTexCoord * instanceUvScale;
     outNormal = mat3(transpose(inverse(instanceModelMatrix))) * normal;
+    outTileRegion = tileRegion;
 }
\ No newline at end of file
@@ -0,0 +1,44 @@
+package com.chaotic_loom.game.benchmarks;
+
+import com.chaotic_loom.game.core.Environment;
+import com.chaotic_loom.game.registries.Registry;
+import com.chaotic_loom.game.registries.BlockModelRegistry;
+import com.chaotic_loom.game.rendering.components.BlockModelCache;
+import com.chaotic_loom.game.rendering.components.FaceCullingTable;
+import com.chaotic_loom.game.rendering.texture.TextureAtlasInfo;
+
+/**
+ * Brings the registries and the meshing tables up the way the engines do, but without a window or GL context.
+ * Textures resolve to a dummy atlas region, the mesher output only differs in UV values.
+ */
+public final class BenchmarkBootstrap {
+    private BenchmarkBootstrap() {} // Static class
+
+    private static final TextureAtlasInfo DUMMY_TEXTURE = new TextureAtlasInfo(null, 0, 0, 1, 1);
+
+    private static boolean registered = false;
+    private static boolean meshingBaked = false;
+
+    /**
+     * Runs the COMMON and CLIENT registrars, once per JVM.
+     */
+    public static synchronized void register() {
+        if (registered) return;
+
+        Registry.startRegistrationAnnotationCollection(Environment.COMMON);
+        Registry.startRegistrationAnnotationCollection(Environment.CLIENT);
+        registered = true;
+    }
+
+    /**
+     * Registers everything and bakes the tables the mesher needs, once per JVM.
+     */
+    public static synchronized void bakeMeshing() {
+        register();
+        if (meshingBaked) return;
+
+        FaceCullingTable.bake();
+        BlockModelCache.bake(state -> BlockModelRegistry.getProvider(state.getBlock()), path -> DUMMY_TEXTURE);
+        meshingBaked = true;
+    }
+}
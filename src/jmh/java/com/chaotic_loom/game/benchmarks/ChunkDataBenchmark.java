@@ -0,0 +1,92 @@
+package com.chaotic_loom.game.benchmarks;
+
+import com.chaotic_loom.game.registries.built_in.Blocks;
+import com.chaotic_loom.game.world.ChunkData;
+import com.chaotic_loom.game.world.components.BlockInstance;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import static com.chaotic_loom.game.core.util.SharedConstants.*;
+
+/**
+ * Block access on a single chunk: full sweeps in storage order and random single accesses.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ChunkDataBenchmark {
+    private static final int RANDOM_POSITIONS = 4096; // Power of two, see nextPosition
+
+    @Param({"UNIFORM", "MIXED"})
+    public String contents;
+
+    private ChunkData chunk;
+    private BlockInstance[] states;
+    private int[] randomPositions; // Packed x | y << 8 | z << 16
+    private int cursor = 0;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        BenchmarkBootstrap.register();
+
+        states = new BlockInstance[] {
+                Blocks.AIR.getDefaultState(), Blocks.STONE.getDefaultState(), Blocks.DIRT.getDefaultState(),
+                Blocks.GLASS.getDefaultState(), Blocks.WOOD.getDefaultState()
+        };
+
+        chunk = new ChunkData(0, 0, 0);
+        SplittableRandom random = new SplittableRandom(42);
+
+        if (contents.equals("UNIFORM")) {
+            chunk.getBlocksRaw().fill(Blocks.STONE.getDefaultState()); // 0 bits per block, setBlock would leave air in the palette
+        } else {
+            for (int y = 0; y < CHUNK_HEIGHT; y++) {
+                for (int z = 0; z < CHUNK_DEPTH; z++) {
+                    for (int x = 0; x < CHUNK_WIDTH; x++) {
+                        chunk.setBlock(x, y, z, states[random.nextInt(states.length)]);
+                    }
+                }
+            }
+        }
+
+        randomPositions = new int[RANDOM_POSITIONS];
+        for (int i = 0; i < RANDOM_POSITIONS; i++) {
+            randomPositions[i] = random.nextInt(CHUNK_WIDTH) | random.nextInt(CHUNK_HEIGHT) << 8 | random.nextInt(CHUNK_DEPTH) << 16;
+        }
+    }
+
+    private int nextPosition() {
+        return randomPositions[cursor++ & (RANDOM_POSITIONS - 1)];
+    }
+
+    @Benchmark
+    public void getBlockSweep(Blackhole blackhole) {
+        for (int y = 0; y < CHUNK_HEIGHT; y++) {
+            for (int z = 0; z < CHUNK_DEPTH; z++) {
+                for (int x = 0; x < CHUNK_WIDTH; x++) {
+                    blackhole.consume(chunk.getBlock(x, y, z));
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public BlockInstance getBlockRandom() {
+        int position = nextPosition();
+        return chunk.getBlock(position & 0xFF, (position >>> 8) & 0xFF, position >>> 16);
+    }
+
+    @Benchmark
+    public boolean setBlockRandom() {
+        int position = nextPosition();
+        // Only states already in the palette, so the storage shape stays stable across invocations
+        BlockInstance state = contents.equals("UNIFORM") ? states[1] : states[position % states.length];
+        return chunk.setBlock(position & 0xFF, (position >>> 8) & 0xFF, position >>> 16, state);
+    }
+}
@@ -0,0 +1,94 @@
+package com.chaotic_loom.game.benchmarks;
+
+import com.chaotic_loom.game.registries.built_in.Blocks;
+import com.chaotic_loom.game.rendering.components.ChunkMesher;
+import com.chaotic_loom.game.world.ChunkData;
+import com.chaotic_loom.game.world.PaddedChunkSnapshot;
+import com.chaotic_loom.game.world.components.Block;
+import com.chaotic_loom.game.world.components.BlockInstance;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import static com.chaotic_loom.game.core.util.SharedConstants.*;
+
+/**
+ * Full chunk meshing on the CPU side only, the geometry is built and freed without ever creating a Mesh.
+ * Neighbour chunks hold the same terrain, so border faces get culled like in a loaded world.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ChunkMesherBenchmark {
+    /**
+     * EMPTY: only air. SOLID: stone everywhere, the best case for culling and greedy merging.
+     * CHECKERBOARD: alternating stone and air, every face is visible and nothing merges (worst case).
+     * MIXED_TRANSPARENT: hilly terrain with dirt, stone, rotated logs and glass pockets.
+     */
+    @Param({"EMPTY", "SOLID", "CHECKERBOARD", "MIXED_TRANSPARENT"})
+    public String terrain;
+
+    private ChunkData chunk;
+    private PaddedChunkSnapshot snapshot;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        BenchmarkBootstrap.bakeMeshing();
+
+        chunk = new ChunkData(0, 0, 0);
+        fillTerrain(chunk, terrain);
+
+        snapshot = PaddedChunkSnapshot.create(chunk, (chunkX, chunkY, chunkZ) -> chunk);
+    }
+
+    private static void fillTerrain(ChunkData chunk, String terrain) {
+        BlockInstance air = Blocks.AIR.getDefaultState();
+        BlockInstance stone = Blocks.STONE.getDefaultState();
+        BlockInstance dirt = Blocks.DIRT.getDefaultState();
+        BlockInstance glass = Blocks.GLASS.getDefaultState();
+        BlockInstance log = Blocks.LOG.getState(Block.Direction.EAST); // Rotated, meshed face by face
+
+        SplittableRandom random = new SplittableRandom(42);
+
+        for (int y = 0; y < CHUNK_HEIGHT; y++) {
+            for (int z = 0; z < CHUNK_DEPTH; z++) {
+                for (int x = 0; x < CHUNK_WIDTH; x++) {
+                    BlockInstance state = switch (terrain) {
+                        case "EMPTY" -> air;
+                        case "SOLID" -> stone;
+                        case "CHECKERBOARD" -> ((x + y + z) & 1) == 0 ? stone : air;
+                        case "MIXED_TRANSPARENT" -> {
+                            int height = 8 + (int) (3 * Math.sin(x * 0.4) + 3 * Math.cos(z * 0.3));
+                            if (y > height) yield air;
+                            if (y == height) yield random.nextInt(8) == 0 ? log : dirt;
+                            yield random.nextInt(6) == 0 ? glass : stone;
+                        }
+                        default -> throw new IllegalArgumentException("Unknown terrain: " + terrain);
+                    };
+
+                    chunk.setBlock(x, y, z, state);
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public int buildGeometry() {
+        ChunkMesher.ChunkGeometry geometry = ChunkMesher.buildGeometry(snapshot);
+
+        int vertices = (geometry.opaque() != null ? geometry.opaque().getVertexCount() : 0)
+                + (geometry.transparent() != null ? geometry.transparent().getVertexCount() : 0);
+        geometry.free();
+
+        return vertices;
+    }
+
+    @Benchmark
+    public PaddedChunkSnapshot createSnapshot() {
+        return PaddedChunkSnapshot.create(chunk, (chunkX, chunkY, chunkZ) -> chunk);
+    }
+}
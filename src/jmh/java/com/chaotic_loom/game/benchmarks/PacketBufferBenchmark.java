@@ -0,0 +1,94 @@
+package com.chaotic_loom.game.benchmarks;
+
+import com.chaotic_loom.game.core.util.SharedConstants;
+import com.chaotic_loom.game.networking.components.PacketBuffer;
+import com.chaotic_loom.game.networking.components.User;
+import com.chaotic_loom.game.registries.components.Identifier;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encoding and decoding of the packet payload types, on a reused heap buffer.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PacketBufferBenchmark {
+    private ByteBuf buffer;
+    private PacketBuffer packetBuffer;
+
+    private Identifier identifier;
+    private User user;
+
+    private ByteBuf encodedUser;
+    private ByteBuf encodedIdentifier;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        buffer = Unpooled.buffer(256);
+        packetBuffer = new PacketBuffer(buffer);
+
+        identifier = new Identifier(SharedConstants.NAMESPACE, "login");
+        user = new User(UUID.fromString("00000000-0000-0000-0000-000000000042"), "restonic4");
+
+        encodedUser = Unpooled.buffer(256);
+        new PacketBuffer(encodedUser).writeUser(user);
+
+        encodedIdentifier = Unpooled.buffer(256);
+        new PacketBuffer(encodedIdentifier).writeIdentifier(identifier);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        buffer.release();
+        encodedUser.release();
+        encodedIdentifier.release();
+    }
+
+    @Benchmark
+    public ByteBuf encodeUser() {
+        buffer.clear();
+        packetBuffer.writeUser(user);
+        return buffer;
+    }
+
+    @Benchmark
+    public ByteBuf encodeIdentifier() {
+        buffer.clear();
+        packetBuffer.writeIdentifier(identifier);
+        return buffer;
+    }
+
+    @Benchmark
+    public ByteBuf encodePacketId() {
+        buffer.clear();
+        packetBuffer.writeVarInt(42);
+        return buffer;
+    }
+
+    @Benchmark
+    public int decodePacketId() {
+        buffer.clear();
+        packetBuffer.writeVarInt(42);
+        return packetBuffer.readVarInt();
+    }
+
+    @Benchmark
+    public User decodeUser() {
+        encodedUser.readerIndex(0);
+        return new PacketBuffer(encodedUser).readUser();
+    }
+
+    @Benchmark
+    public Identifier decodeIdentifier() {
+        encodedIdentifier.readerIndex(0);
+        return new PacketBuffer(encodedIdentifier).readIdentifier();
+    }
+}
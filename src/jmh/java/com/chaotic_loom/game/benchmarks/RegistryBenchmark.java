@@ -0,0 +1,52 @@
+package com.chaotic_loom.game.benchmarks;
+
+import com.chaotic_loom.game.core.util.SharedConstants;
+import com.chaotic_loom.game.registries.Registry;
+import com.chaotic_loom.game.registries.built_in.Blocks;
+import com.chaotic_loom.game.registries.built_in.RegistryKeys;
+import com.chaotic_loom.game.registries.components.Identifier;
+import com.chaotic_loom.game.registries.components.RegistryObject;
+import com.chaotic_loom.game.world.components.Block;
+import com.chaotic_loom.game.world.components.BlockInstance;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The lookups used to resolve blocks from the wire and from storage.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RegistryBenchmark {
+    private Identifier identifier;
+    private short internalMappedID;
+    private int stateId;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        BenchmarkBootstrap.register();
+
+        identifier = new Identifier(SharedConstants.NAMESPACE, "stone"); // Fresh instance, like one read from a packet
+        internalMappedID = Blocks.STONE.getInternalMappedRegistryID();
+        stateId = Blocks.STONE.getDefaultState().getStateId();
+    }
+
+    @Benchmark
+    public Block byIdentifier() {
+        return Registry.getRegistryObject(RegistryKeys.BLOCK, identifier);
+    }
+
+    @Benchmark
+    public RegistryObject byInternalMappedID() {
+        return Registry.getRegistryObject(internalMappedID);
+    }
+
+    @Benchmark
+    public BlockInstance byStateId() {
+        return BlockInstance.byStateId(stateId);
+    }
+}
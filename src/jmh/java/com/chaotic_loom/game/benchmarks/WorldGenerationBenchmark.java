@@ -0,0 +1,62 @@
+package com.chaotic_loom.game.benchmarks;
+
+import com.chaotic_loom.game.world.ChunkData;
+import com.chaotic_loom.game.world.generation.ChunkGenerationPool;
+import com.chaotic_loom.game.world.generation.NoiseChunkGenerator;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Generation of a whole area (AREA_WIDTH * AREA_WIDTH columns, AREA_HEIGHT chunks tall) on the generation pool,
+ * for each thread count. Every invocation generates a different area, so no column comes from the cache.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WorldGenerationBenchmark {
+    private static final int AREA_WIDTH = 16;
+    private static final int AREA_HEIGHT = 4;
+
+    @Param({"1", "2", "4", "8"})
+    public int threads;
+
+    private ChunkGenerationPool<?> pool;
+    private int area = 0;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        BenchmarkBootstrap.register();
+        pool = new ChunkGenerationPool<>(new NoiseChunkGenerator(42), threads);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.close();
+    }
+
+    @Benchmark
+    public void generateArea(Blackhole blackhole) {
+        int originX = (area++ % 1024) * AREA_WIDTH;
+        List<CompletableFuture<ChunkData>> chunks = new ArrayList<>(AREA_WIDTH * AREA_WIDTH * AREA_HEIGHT);
+
+        for (int cy = -1; cy < AREA_HEIGHT - 1; cy++) {
+            for (int cz = 0; cz < AREA_WIDTH; cz++) {
+                for (int cx = originX; cx < originX + AREA_WIDTH; cx++) {
+                    chunks.add(pool.load(cx, cy, cz));
+                }
+            }
+        }
+
+        for (CompletableFuture<ChunkData> chunk : chunks) {
+            blackhole.consume(chunk.join());
+        }
+    }
+}
@@ -3,6 +3,7 @@ package com.chaotic_loom.game.core;
 import com.chaotic_loom.game.world.components.Block;
 import com.chaotic_loom.game.core.util.ArgsManager;
 import com.chaotic_loom.game.networking.NetworkingManager;
+import com.chaotic_loom.game.networking.components.PacketIdTable;
 import com.chaotic_loom.game.registries.Registry;
 import com.chaotic_loom.game.registries.built_in.RegistryKeys;
 import com.chaotic_loom.game.registries.components.Identifier;
@@ -32,6 +33,8 @@ public abstract class AbstractEngine implements Runnable {
         for (Block block : registries.values()) {
             System.out.println(block.getIdentifier() + " -> " + block.getInternalMappedRegistryID());
         }
+
+        this.networkingManager.setPacketIdTable(PacketIdTable.fromRegistry()); // Needs the packets registered
     }
 
     // Abstract methods to be implemented by Client/Server specific engines
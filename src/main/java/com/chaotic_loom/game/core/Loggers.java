@@ -11,6 +11,7 @@ public abstract class Loggers {
     public static final Logger INPUT_MANAGER = LogManager.getLogger("InputManager");
 
     // Server
+    public static final Logger SERVER = LogManager.getLogger("Server");
 
     // Common
     public static final Logger LAUNCHER = LogManager.getLogger("Launcher");
@@ -35,6 +35,43 @@ public class ArgsManager {
         return argsMap.get(argName);
     }
 
+    public String getValue(String argName, String defaultValue) {
+        return argsMap.getOrDefault(argName, defaultValue);
+    }
+
+    // Throws an exception if the argument is present but not a number.
+    public int getInt(String argName, int defaultValue) {
+        String value = argsMap.get(argName);
+        if (value == null) {
+            return defaultValue;
+        }
+
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException exception) {
+            throw new IllegalArgumentException("Argument '" + argName + "' must be a number, got '" + value + "'", exception);
+        }
+    }
+
+    // Throws an exception if the argument is present but not a number.
+    public long getLong(String argName, long defaultValue) {
+        String value = argsMap.get(argName);
+        if (value == null) {
+            return defaultValue;
+        }
+
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException exception) {
+            throw new IllegalArgumentException("Argument '" + argName + "' must be a number, got '" + value + "'", exception);
+        }
+    }
+
+    public boolean getBoolean(String argName, boolean defaultValue) {
+        String value = argsMap.get(argName);
+        return value == null ? defaultValue : Boolean.parseBoolean(value);
+    }
+
     // Throws an exception if the specified argument is missing.
     public void throwIfMissing(String argName, String crashReason) {
         if (!has(argName)) {
@@ -0,0 +1,21 @@
+package com.chaotic_loom.game.events;
+
+import com.chaotic_loom.game.events.components.Event;
+import com.chaotic_loom.game.events.components.EventFactory;
+import com.chaotic_loom.game.world.ChunkData;
+
+public abstract class ChunkEvents {
+    /**
+     * A chunk arrived from the server, fired on the game thread.
+     */
+    public static final Event<Received> RECEIVED = EventFactory.createArray(Received.class, callbacks -> chunk -> {
+        for (Received callback : callbacks) {
+            callback.onEvent(chunk);
+        }
+    });
+
+    @FunctionalInterface
+    public interface Received {
+        void onEvent(ChunkData chunk);
+    }
+}
@@ -3,53 +3,262 @@ package com.chaotic_loom.game.networking;
 import com.chaotic_loom.game.core.AbstractEngine;
 import com.chaotic_loom.game.core.AbstractLauncher;
 import com.chaotic_loom.game.core.Loggers;
+import com.chaotic_loom.game.networking.components.CompressedFrame;
+import com.chaotic_loom.game.networking.components.Connection;
+import com.chaotic_loom.game.networking.components.InboundPacket;
+import com.chaotic_loom.game.networking.components.NetworkOptions;
 import com.chaotic_loom.game.networking.components.Packet;
 import com.chaotic_loom.game.networking.components.PacketBuffer;
-import com.chaotic_loom.game.registries.Registry;
-import com.chaotic_loom.game.registries.built_in.RegistryKeys;
-import com.chaotic_loom.game.registries.components.Identifier;
+import com.chaotic_loom.game.networking.components.PacketIdTable;
+import com.chaotic_loom.game.networking.components.User;
 import io.netty.buffer.ByteBuf;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelHandlerContext;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
 public class NetworkingManager {
     public static final int READER_IDLE_TIMEOUT_SECONDS = 60; // timeout seconds, time without packets being received
+    public static final int WRITE_STALL_TIMEOUT_SECONDS = 30; // connections unwritable for longer get closed, see flushPendingWrites
 
-    public static final int MAX_FRAME_LENGTH = 2048; // maximum length of a packet
+    public static final int DEFAULT_MAX_FRAME_LENGTH = 2 * 1024 * 1024; // maximum length of a packet on the wire, see NetworkOptions
+    public static final int MAX_UNCOMPRESSED_LENGTH = 8 * 1024 * 1024; // maximum length of a packet once inflated
+    public static final int DEFAULT_COMPRESSION_THRESHOLD = 256; // payloads from this size are compressed, see PacketCompressor
     public static final int LENGTH_FIELD_OFFSET = 0; // length field starts at index 0
     public static final int LENGTH_FIELD_LENGTH = 4; // length is a 4-byte int
     public static final int LENGTH_ADJUSTMENT = 0;  // no adjustment, if the length field only contains the payload length
     public static final int INITIAL_BYTES_TO_STRIP = 4; // strip the length field from the output
 
-    private Channel channel;
+    // Pipeline handler names
+    public static final String FRAME_DECODER = "frame_decoder";
+    public static final String DECOMPRESSOR = "decompressor";
+    public static final String COMPRESSOR = "compressor";
+    public static final String PACKET_DECODER = "packet_decoder";
+
+    public static final int MAX_PACKETS_PER_CONNECTION_PER_TICK = 256; // the rest waits for the next tick, bounds the tick time under floods
+
+    private Channel channel; // The server socket on the server, the connection to the server on the client
+    private NetworkOptions networkOptions;
+    private volatile PacketIdTable packetIdTable = null; // Replaced by the server one during login on the client
+    private final Set<Connection> connections = ConcurrentHashMap.newKeySet(); // Every open connection, logged in or not
+    private final Map<UUID, Connection> connectionsByUser = new ConcurrentHashMap<>(); // Logged in connections
 
     public void send(Packet packet, PacketBuffer packetBuffer) {
+        send(packet, packetBuffer, this.channel);
+    }
+
+    public void send(Packet packet, PacketBuffer packetBuffer, Channel channel) {
+        if (!canSend(packet, packetBuffer)) {
+            return;
+        }
+
+        Connection connection = Connection.get(channel);
+        if (connection == null) {
+            channel.writeAndFlush(packetBuffer.finishFrame());
+            return;
+        }
+
+        if (packet.isDroppable() && !connection.isWritable()) {
+            packetBuffer.release();
+            return;
+        }
+
+        connection.send(packetBuffer.finishFrame(), packet.isLatencyCritical());
+    }
+
+    /**
+     * Sends the packet to every logged in connection, see broadcast(Packet, PacketBuffer, Predicate).
+     */
+    public void broadcast(Packet packet, PacketBuffer packetBuffer) {
+        broadcast(packet, packetBuffer, connection -> true);
+    }
+
+    /**
+     * Sends the packet to the logged in connections that see the given chunk.
+     */
+    public void broadcastToArea(Packet packet, PacketBuffer packetBuffer, int chunkX, int chunkY, int chunkZ) {
+        broadcast(packet, packetBuffer, connection -> connection.isInView(chunkX, chunkY, chunkZ));
+    }
+
+    /**
+     * Sends the packet to the logged in connections accepted by the filter. The packet is encoded once, every
+     * recipient gets a retained duplicate of the same frame (shared memory, own indexes).
+     * Payloads over the compression threshold are also compressed once, on the first recipient that needs it,
+     * and shared the same way instead of being deflated again by every connection's PacketCompressor.
+     * Droppable packets skip the connections that aren't writable.
+     */
+    public void broadcast(Packet packet, PacketBuffer packetBuffer, Predicate<Connection> filter) {
+        if (!canSend(packet, packetBuffer)) {
+            return;
+        }
+
+        ByteBuf frame = packetBuffer.finishFrame();
+        int payloadLength = frame.readableBytes() - LENGTH_FIELD_LENGTH;
+        CompressedFrame compressed = null;
+
+        try {
+            for (Connection connection : connectionsByUser.values()) {
+                if (!connection.isActive() || !filter.test(connection)) {
+                    continue;
+                }
+
+                if (packet.isDroppable() && !connection.isWritable()) {
+                    continue;
+                }
+
+                int threshold = connection.getCompressionThreshold();
+                if (threshold < 0 || payloadLength < threshold) {
+                    connection.send(frame.retainedDuplicate(), packet.isLatencyCritical()); // Sent uncompressed anyway
+                    continue;
+                }
+
+                if (compressed == null) {
+                    compressed = PacketCompressor.compressFrame(frame.alloc(), frame, threshold);
+                }
+
+                connection.send(compressed.retainedDuplicate(), packet.isLatencyCritical());
+            }
+        } finally {
+            frame.release();
+
+            if (compressed != null) {
+                compressed.release();
+            }
+        }
+    }
+
+    private boolean canSend(Packet packet, PacketBuffer packetBuffer) {
         if (packet.getTarget() == AbstractLauncher.getEngine().getEnvironment()) {
             Loggers.NETWORKING.warn("The packet {} is being sent to the same environment! That doesn't make any sense!", packet.getIdentifier());
-            return;
+            packetBuffer.release();
+            return false;
         }
 
-        ByteBuf finalByteBuffer = packetBuffer.getFinalBuffer(this.channel);
-        this.channel.writeAndFlush(finalByteBuffer);
+        return true;
     }
 
-    public void onPacketReceived(ChannelHandlerContext ctx, PacketBuffer packetBuffer) {
-        Identifier packetId = packetBuffer.readIdentifier();
-        Packet packet = Registry.getRegistryObject(RegistryKeys.PACKETS, packetId);
+    /**
+     * Called on the event loop. Packets that are safe there are handled right away, the rest are queued on their
+     * connection for processIncomingPackets.
+     */
+    public void onPacketReceived(ChannelHandlerContext ctx, InboundPacket inboundPacket) {
+        Packet packet = inboundPacket.getPacket();
 
-        if (packet == null) {
-            Loggers.NETWORKING.warn("The packet {} was not found!", packetId);
+        if (packet.isHandledOnNetworkThread()) {
+            packet.handle(this, ctx, inboundPacket.getPacketBuffer());
             return;
         }
 
-        if (packet.getTarget() != AbstractLauncher.getEngine().getEnvironment()) {
-            Loggers.NETWORKING.warn("The packet {} cant be sent to this environment! That doesn't make any sense!", packet.getIdentifier());
+        Connection connection = Connection.get(ctx.channel());
+        if (connection == null) {
+            Loggers.NETWORKING.warn("The packet {} arrived on a channel without connection, ignoring it.", packet.getIdentifier());
             return;
         }
 
-        packet.handle(this, ctx, packetBuffer);
+        connection.enqueue((InboundPacket) inboundPacket.retain()); // The handler releases the original reference
+    }
+
+    /**
+     * Handles the packets queued on every connection, in bounded batches. Must be called from the game thread once per tick.
+     */
+    public void processIncomingPackets() {
+        for (Connection connection : connections) {
+            if (connection.isClosed()) {
+                // Marked closed after the last frame of the channel was queued, later ones release themselves
+                connection.discardQueued();
+                connections.remove(connection);
+
+                User user = connection.getUser();
+                if (user != null) {
+                    connectionsByUser.remove(user.uuid(), connection);
+                }
+                continue;
+            }
+
+            connection.drain(this, MAX_PACKETS_PER_CONNECTION_PER_TICK);
+        }
+    }
+
+    /**
+     * Flushes every connection written to since the last call. Called at the end of each tick (server) or frame
+     * (client), so the packets of a tick share a single flush per connection.
+     * Connections unwritable for over WRITE_STALL_TIMEOUT_SECONDS get closed, the other side isn't reading fast
+     * enough and their outbound buffer would otherwise grow without limit.
+     */
+    public void flushPendingWrites() {
+        for (Connection connection : connections) {
+            connection.flushPendingWrites();
+
+            if (connection.getUnwritableNanos() > TimeUnit.SECONDS.toNanos(WRITE_STALL_TIMEOUT_SECONDS) && connection.isActive()) {
+                Loggers.NETWORKING.warn("{} hasn't read its packets for {} seconds, closing the connection.", connection.getChannel().remoteAddress(), WRITE_STALL_TIMEOUT_SECONDS);
+                connection.getChannel().close();
+            }
+        }
+    }
+
+    /**
+     * Called on the event loop from channelInactive, once the decoders fired every frame still buffered.
+     * The game thread forgets the connection on its next processIncomingPackets.
+     */
+    public void onConnectionClosed(ChannelHandlerContext ctx) {
+        Connection connection = Connection.get(ctx.channel());
+        if (connection != null) {
+            connection.markClosed();
+        }
+    }
+
+    public Connection onConnectionOpened(ChannelHandlerContext ctx) {
+        Connection connection = new Connection(ctx);
+        ctx.channel().attr(Connection.KEY).set(connection);
+        connections.add(connection);
+
+        return connection;
+    }
+
+    /**
+     * Marks the connection as logged in as the user, replacing (and closing) an older connection of the same user.
+     */
+    public void registerUser(Connection connection, User user) {
+        connection.setUser(user);
+        connection.setState(Connection.State.PLAY);
+
+        Connection previous = connectionsByUser.put(user.uuid(), connection);
+        if (previous != null && previous != connection) {
+            Loggers.NETWORKING.warn("{} logged in again from {}, closing the old connection.", user, connection.getChannel().remoteAddress());
+            previous.getChannel().close();
+        }
+    }
+
+    /**
+     * @return The logged in connection of the user, null if there is none.
+     */
+    public Connection getConnection(UUID uuid) {
+        return connectionsByUser.get(uuid);
+    }
+
+    public Collection<Connection> getUserConnections() {
+        return Collections.unmodifiableCollection(connectionsByUser.values());
+    }
+
+    public NetworkOptions getNetworkOptions() {
+        return networkOptions;
+    }
+
+    public void setNetworkOptions(NetworkOptions networkOptions) {
+        this.networkOptions = networkOptions;
+    }
+
+    public PacketIdTable getPacketIdTable() {
+        return packetIdTable;
+    }
+
+    public void setPacketIdTable(PacketIdTable packetIdTable) {
+        this.packetIdTable = packetIdTable;
     }
 
     public void setChannel(Channel channel) {
@@ -2,22 +2,40 @@ package com.chaotic_loom.game.networking;
 
 import com.chaotic_loom.game.core.AbstractLauncher;
 import com.chaotic_loom.game.core.Loggers;
-import com.chaotic_loom.game.networking.components.PacketBuffer;
-import io.netty.buffer.ByteBuf;
-import io.netty.channel.Channel;
+import com.chaotic_loom.game.networking.components.Connection;
+import com.chaotic_loom.game.networking.components.InboundPacket;
 import io.netty.channel.ChannelHandlerContext;
-import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.SimpleChannelInboundHandler;
 
-import java.net.SocketAddress;
+/**
+ * Handles the packets decoded by PacketDecoder. SimpleChannelInboundHandler releases each one after it is handled.
+ */
+public abstract class PacketChannelHandler extends SimpleChannelInboundHandler<InboundPacket> {
+    @Override
+    public void channelActive(ChannelHandlerContext ctx) throws Exception {
+        AbstractLauncher.getEngine().getNetworkingManager().onConnectionOpened(ctx);
+        super.channelActive(ctx);
+    }
 
-public abstract class PacketChannelHandler extends ChannelInboundHandlerAdapter {
-    // Received packet
     @Override
-    public void channelRead(ChannelHandlerContext ctx, Object msg) {
-        ByteBuf in = (ByteBuf) msg;
-        PacketBuffer packetBuffer = new PacketBuffer(in);
+    public void channelInactive(ChannelHandlerContext ctx) throws Exception {
+        AbstractLauncher.getEngine().getNetworkingManager().onConnectionClosed(ctx);
+        super.channelInactive(ctx);
+    }
 
-        AbstractLauncher.getEngine().getNetworkingManager().onPacketReceived(ctx, packetBuffer);
+    @Override
+    public void channelWritabilityChanged(ChannelHandlerContext ctx) throws Exception {
+        Connection connection = Connection.get(ctx.channel());
+        if (connection != null) {
+            connection.onWritabilityChanged();
+        }
+        super.channelWritabilityChanged(ctx);
+    }
+
+    // Received packet
+    @Override
+    protected void channelRead0(ChannelHandlerContext ctx, InboundPacket packet) {
+        AbstractLauncher.getEngine().getNetworkingManager().onPacketReceived(ctx, packet);
     }
 
     @Override
@@ -0,0 +1,114 @@
+package com.chaotic_loom.game.networking;
+
+import com.chaotic_loom.game.networking.components.CompressedFrame;
+import com.chaotic_loom.game.networking.components.PacketBuffer;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPromise;
+import io.netty.handler.codec.MessageToByteEncoder;
+
+import java.nio.ByteBuffer;
+import java.util.zip.Deflater;
+
+/**
+ * Compresses the framed packets written to the channel, see Connection.enableCompression.
+ *
+ * Frame layout once enabled: length (int), uncompressed payload length (VarInt, 0 if sent as is), payload.
+ * Only payloads of at least threshold bytes are deflated, small ones are not worth the CPU.
+ * The Deflater is kept for the whole connection, its native context is freed when the handler is removed.
+ *
+ * Frames shared by several connections are compressed once with compressFrame and written as a CompressedFrame,
+ * which passes through as is.
+ */
+public class PacketCompressor extends MessageToByteEncoder<ByteBuf> {
+    private static final int DEFLATE_CHUNK = 8192;
+
+    private final int threshold;
+    private final Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION);
+
+    public PacketCompressor(int threshold) {
+        this.threshold = threshold;
+    }
+
+    @Override
+    public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) throws Exception {
+        if (msg instanceof CompressedFrame compressed) {
+            ctx.write(compressed.content(), promise); // Already compressed, the content's reference moves on
+            return;
+        }
+
+        super.write(ctx, msg, promise);
+    }
+
+    @Override
+    protected void encode(ChannelHandlerContext ctx, ByteBuf frame, ByteBuf out) {
+        encode(frame, out, threshold, deflater);
+    }
+
+    private static void encode(ByteBuf frame, ByteBuf out, int threshold, Deflater deflater) {
+        frame.skipBytes(NetworkingManager.LENGTH_FIELD_LENGTH); // Rewritten below
+        int payloadLength = frame.readableBytes();
+
+        int lengthIndex = out.writerIndex();
+        out.writeZero(NetworkingManager.LENGTH_FIELD_LENGTH);
+        PacketBuffer outBuffer = new PacketBuffer(out);
+
+        if (payloadLength < threshold) {
+            outBuffer.writeVarInt(0);
+            out.writeBytes(frame);
+        } else {
+            outBuffer.writeVarInt(payloadLength);
+            deflate(frame, out, deflater);
+        }
+
+        out.setInt(lengthIndex, out.writerIndex() - lengthIndex - NetworkingManager.LENGTH_FIELD_LENGTH);
+    }
+
+    /**
+     * Compresses a frame outside of any pipeline, for frames sent to several connections.
+     * The frame itself is left untouched (indexes and reference count).
+     * @param threshold The threshold of the connections it goes to, the payload must not be below it.
+     */
+    public static CompressedFrame compressFrame(ByteBufAllocator allocator, ByteBuf frame, int threshold) {
+        ByteBuf out = allocator.ioBuffer(frame.readableBytes() + 5);
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION);
+
+        try {
+            encode(frame.duplicate(), out, threshold, deflater);
+            return new CompressedFrame(out);
+        } catch (RuntimeException exception) {
+            out.release();
+            throw exception;
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static void deflate(ByteBuf in, ByteBuf out, Deflater deflater) {
+        deflater.setInput(in.nioBuffer());
+        deflater.finish();
+
+        while (!deflater.finished()) {
+            out.ensureWritable(DEFLATE_CHUNK);
+            ByteBuffer target = out.nioBuffer(out.writerIndex(), out.writableBytes());
+            out.writerIndex(out.writerIndex() + deflater.deflate(target));
+        }
+
+        deflater.reset();
+        in.skipBytes(in.readableBytes());
+    }
+
+    @Override
+    protected ByteBuf allocateBuffer(ChannelHandlerContext ctx, ByteBuf frame, boolean preferDirect) {
+        // Enough for the uncompressed case, compressed ones end up smaller
+        int capacity = frame.readableBytes() + 5;
+        return preferDirect ? ctx.alloc().ioBuffer(capacity) : ctx.alloc().heapBuffer(capacity);
+    }
+
+    @Override
+    public void handlerRemoved(ChannelHandlerContext ctx) throws Exception {
+        deflater.end();
+        super.handlerRemoved(ctx);
+    }
+}
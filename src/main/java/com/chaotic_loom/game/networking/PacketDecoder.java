@@ -0,0 +1,41 @@
+package com.chaotic_loom.game.networking;
+
+import com.chaotic_loom.game.core.AbstractLauncher;
+import com.chaotic_loom.game.core.Loggers;
+import com.chaotic_loom.game.networking.components.InboundPacket;
+import com.chaotic_loom.game.networking.components.Packet;
+import com.chaotic_loom.game.networking.components.PacketBuffer;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.MessageToMessageDecoder;
+
+import java.util.List;
+
+/**
+ * Turns the frames of LengthFieldBasedFrameDecoder into InboundPackets, resolving the packet ID with the current PacketIdTable.
+ * Unknown packets and packets meant for the other environment are dropped here. Frames are released by
+ * MessageToMessageDecoder, the emitted packets keep their own reference to the payload.
+ */
+@ChannelHandler.Sharable
+public class PacketDecoder extends MessageToMessageDecoder<ByteBuf> {
+    @Override
+    protected void decode(ChannelHandlerContext ctx, ByteBuf frame, List<Object> out) {
+        NetworkingManager networkingManager = AbstractLauncher.getEngine().getNetworkingManager();
+
+        int packetId = new PacketBuffer(frame).readVarInt();
+        Packet packet = networkingManager.getPacketIdTable().getPacket(packetId);
+
+        if (packet == null) {
+            Loggers.NETWORKING.warn("The packet with ID {} was not found!", packetId);
+            return;
+        }
+
+        if (packet.getTarget() != AbstractLauncher.getEngine().getEnvironment()) {
+            Loggers.NETWORKING.warn("The packet {} cant be sent to this environment! That doesn't make any sense!", packet.getIdentifier());
+            return;
+        }
+
+        out.add(new InboundPacket(packet, frame.retain()));
+    }
+}
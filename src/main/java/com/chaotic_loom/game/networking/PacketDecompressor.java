@@ -0,0 +1,73 @@
+package com.chaotic_loom.game.networking;
+
+import com.chaotic_loom.game.networking.components.PacketBuffer;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.DecoderException;
+import io.netty.handler.codec.MessageToMessageDecoder;
+
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * Inflates the frames written by PacketCompressor on the other side, sits between the frame decoder and PacketDecoder.
+ * The Inflater is kept for the whole connection, its native context is freed when the handler is removed.
+ */
+public class PacketDecompressor extends MessageToMessageDecoder<ByteBuf> {
+    private final int threshold;
+    private final int maxUncompressedLength;
+    private final Inflater inflater = new Inflater();
+
+    public PacketDecompressor(int threshold, int maxUncompressedLength) {
+        this.threshold = threshold;
+        this.maxUncompressedLength = maxUncompressedLength;
+    }
+
+    @Override
+    protected void decode(ChannelHandlerContext ctx, ByteBuf frame, List<Object> out) throws Exception {
+        int uncompressedLength = new PacketBuffer(frame).readVarInt();
+
+        if (uncompressedLength == 0) {
+            out.add(frame.retain()); // Sent as is, positioned after the length
+            return;
+        }
+
+        if (uncompressedLength < threshold) {
+            throw new DecoderException("Compressed packet of " + uncompressedLength + " bytes is below the threshold of " + threshold);
+        }
+
+        if (uncompressedLength > maxUncompressedLength) {
+            throw new DecoderException("Compressed packet of " + uncompressedLength + " bytes is over the limit of " + maxUncompressedLength);
+        }
+
+        ByteBuf uncompressed = ctx.alloc().ioBuffer(uncompressedLength, uncompressedLength);
+        try {
+            inflater.setInput(frame.nioBuffer());
+            int inflated = inflater.inflate(uncompressed.nioBuffer(0, uncompressedLength));
+
+            if (inflated != uncompressedLength || !inflater.finished()) {
+                throw new DecoderException("Compressed packet does not match its length of " + uncompressedLength + " bytes");
+            }
+
+            uncompressed.writerIndex(uncompressedLength);
+            out.add(uncompressed);
+            uncompressed = null;
+        } catch (DataFormatException exception) {
+            throw new DecoderException("Corrupted compressed packet", exception);
+        } finally {
+            inflater.reset();
+            frame.skipBytes(frame.readableBytes());
+
+            if (uncompressed != null) {
+                uncompressed.release();
+            }
+        }
+    }
+
+    @Override
+    public void handlerRemoved(ChannelHandlerContext ctx) throws Exception {
+        inflater.end();
+        super.handlerRemoved(ctx);
+    }
+}
@@ -0,0 +1,25 @@
+package com.chaotic_loom.game.networking.components;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.DefaultByteBufHolder;
+
+/**
+ * A frame already in the compressed layout (see PacketCompressor), compressed once and shared by several
+ * connections. PacketCompressor writes its content as is instead of compressing it again.
+ * Reference counted through the content.
+ */
+public class CompressedFrame extends DefaultByteBufHolder {
+    public CompressedFrame(ByteBuf frame) {
+        super(frame);
+    }
+
+    @Override
+    public CompressedFrame retainedDuplicate() {
+        return (CompressedFrame) super.retainedDuplicate();
+    }
+
+    @Override
+    public CompressedFrame replace(ByteBuf content) {
+        return new CompressedFrame(content);
+    }
+}
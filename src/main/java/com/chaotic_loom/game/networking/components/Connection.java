@@ -0,0 +1,276 @@
+package com.chaotic_loom.game.networking.components;
+
+import com.chaotic_loom.game.core.AbstractLauncher;
+import com.chaotic_loom.game.core.Loggers;
+import com.chaotic_loom.game.networking.NetworkingManager;
+import com.chaotic_loom.game.networking.PacketCompressor;
+import com.chaotic_loom.game.networking.PacketDecompressor;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPipeline;
+import io.netty.util.AttributeKey;
+import io.netty.util.internal.PlatformDependent;
+
+import java.util.Queue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A client session: its channel, user, state, the chunk area it sees and the packets received on it that wait
+ * for the game thread.
+ *
+ * The inbound queue is multi-producer single-consumer: the channel's event loop offers to it and only the game
+ * thread polls it (NetworkingManager.processIncomingPackets). Queued packets are retained, whoever polls them
+ * releases them.
+ *
+ * The channel turns inactive before the decoders flush the frames still buffered, so the connection only counts
+ * as closed once channelInactive reaches PacketChannelHandler (markClosed), after the last possible enqueue.
+ */
+public class Connection {
+    public static final AttributeKey<Connection> KEY = AttributeKey.valueOf("connection");
+
+    public static final int DEFAULT_VIEW_DISTANCE = 8; // In chunks
+
+    public enum State {
+        HANDSHAKE, // Connected, not logged in yet
+        PLAY // Logged in, receives broadcasts
+    }
+
+    private final Channel channel;
+    private final ChannelHandlerContext context;
+    private final Queue<InboundPacket> inboundQueue = PlatformDependent.newMpscQueue(); // Lock-free, JCTools based
+
+    private final AtomicBoolean flushPending = new AtomicBoolean(false);
+    private volatile boolean closed = false; // Set on the event loop, nothing gets queued afterwards
+    private volatile long unwritableSinceNanos = 0; // When the outbound buffer went over the high water mark, 0 while under it
+    private volatile int compressionThreshold = -1; // Negative while compression is off
+
+    private volatile State state = State.HANDSHAKE;
+    private volatile User user;
+
+    // Area of interest, the chunk the user is in and how far it sees. Game thread only.
+    private int viewChunkX, viewChunkY, viewChunkZ;
+    private int viewDistance = DEFAULT_VIEW_DISTANCE;
+
+    public Connection(ChannelHandlerContext context) {
+        this.channel = context.channel();
+        this.context = context;
+    }
+
+    /**
+     * @return The connection of the channel, null if it is not active yet.
+     */
+    public static Connection get(Channel channel) {
+        return channel.attr(KEY).get();
+    }
+
+    /**
+     * Writes an already framed buffer, taking ownership of it.
+     * @param flush Whether to flush right away. Otherwise the write waits in the channel's outbound buffer until
+     *              flushPendingWrites, so all the packets of a tick leave in as few syscalls as possible.
+     */
+    public void send(ByteBuf frame, boolean flush) {
+        write(frame, flush);
+    }
+
+    /**
+     * Writes a frame compressed beforehand, taking ownership of it. Only for connections with compression enabled
+     * at a threshold not above the frame's payload length, see NetworkingManager.broadcast.
+     */
+    public void send(CompressedFrame frame, boolean flush) {
+        write(frame, flush);
+    }
+
+    private void write(Object message, boolean flush) {
+        if (flush) {
+            channel.writeAndFlush(message, channel.voidPromise());
+            return;
+        }
+
+        channel.write(message, channel.voidPromise());
+        flushPending.set(true); // After the write, so a flush that clears the flag always covers it
+    }
+
+    /**
+     * Tracks since when the channel is unwritable, from channelWritabilityChanged on the event loop.
+     */
+    public void onWritabilityChanged() {
+        if (channel.isWritable()) {
+            unwritableSinceNanos = 0;
+        } else if (unwritableSinceNanos == 0) {
+            unwritableSinceNanos = System.nanoTime() | 1; // Never 0
+        }
+    }
+
+    /**
+     * @return Whether the outbound buffer is under the high water mark (see NetworkOptions).
+     */
+    public boolean isWritable() {
+        return channel.isWritable();
+    }
+
+    /**
+     * @return How long the channel has been unwritable, in nanoseconds, 0 if it is writable.
+     */
+    public long getUnwritableNanos() {
+        long since = unwritableSinceNanos;
+        return since == 0 ? 0 : System.nanoTime() - since;
+    }
+
+    /**
+     * Flushes the writes done since the last flush, if any.
+     */
+    public void flushPendingWrites() {
+        if (flushPending.getAndSet(false)) {
+            channel.flush();
+        }
+    }
+
+    /**
+     * Queues the packet for the game thread, taking ownership of one reference. Event loop only.
+     * Packets arriving once the connection is closed are released right away.
+     */
+    public void enqueue(InboundPacket packet) {
+        if (closed) {
+            packet.release();
+            return;
+        }
+
+        inboundQueue.offer(packet);
+    }
+
+    /**
+     * Marks the connection as closed, from channelInactive on the event loop. Every packet of the channel
+     * has been queued by then, so the game thread can discard the queue and forget the connection.
+     */
+    public void markClosed() {
+        closed = true;
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Handles up to maxPackets queued packets. Game thread only.
+     * @return The amount of packets handled.
+     */
+    public int drain(NetworkingManager networkingManager, int maxPackets) {
+        int handled = 0;
+        InboundPacket packet;
+
+        while (handled < maxPackets && (packet = inboundQueue.poll()) != null) {
+            try {
+                packet.getPacket().handle(networkingManager, context, packet.getPacketBuffer());
+            } catch (Exception exception) {
+                Loggers.NETWORKING.error("Error handling packet {} from {}", packet.getPacket().getIdentifier(), channel.remoteAddress(), exception);
+            } finally {
+                packet.release();
+            }
+
+            handled++;
+        }
+
+        return handled;
+    }
+
+    /**
+     * Releases every queued packet without handling it, once the connection is closed (see markClosed). Game thread only.
+     */
+    public void discardQueued() {
+        InboundPacket packet;
+        while ((packet = inboundQueue.poll()) != null) {
+            packet.release();
+        }
+    }
+
+    /**
+     * Adds the compression handlers to the pipeline, both directions use the threshold from then on.
+     * Runs right away on the event loop (so the next frame of the same read is already inflated), otherwise it is
+     * queued behind the writes already issued, so a packet sent just before this still leaves uncompressed.
+     */
+    public void enableCompression(int threshold) {
+        this.compressionThreshold = threshold; // Writes issued from now on are queued behind the install below
+
+        int maxFrameLength = AbstractLauncher.getEngine().getNetworkingManager().getNetworkOptions().maxFrameLength();
+        Runnable install = () -> {
+            ChannelPipeline pipeline = channel.pipeline();
+            if (pipeline.get(NetworkingManager.COMPRESSOR) != null) {
+                return;
+            }
+
+            pipeline.addAfter(NetworkingManager.FRAME_DECODER, NetworkingManager.DECOMPRESSOR, new PacketDecompressor(threshold, Math.max(maxFrameLength, NetworkingManager.MAX_UNCOMPRESSED_LENGTH)));
+            pipeline.addAfter(NetworkingManager.DECOMPRESSOR, NetworkingManager.COMPRESSOR, new PacketCompressor(threshold));
+            Loggers.NETWORKING.info("Compression enabled for {}, threshold {} bytes", channel.remoteAddress(), threshold);
+        };
+
+        if (channel.eventLoop().inEventLoop()) {
+            install.run();
+        } else {
+            channel.eventLoop().execute(install);
+        }
+    }
+
+    /**
+     * @return The payload size from which this connection compresses packets, negative if it doesn't.
+     */
+    public int getCompressionThreshold() {
+        return compressionThreshold;
+    }
+
+    public void setView(int chunkX, int chunkY, int chunkZ, int viewDistance) {
+        this.viewChunkX = chunkX;
+        this.viewChunkY = chunkY;
+        this.viewChunkZ = chunkZ;
+        this.viewDistance = viewDistance;
+    }
+
+    public int getViewChunkX() {
+        return viewChunkX;
+    }
+
+    public int getViewChunkY() {
+        return viewChunkY;
+    }
+
+    public int getViewChunkZ() {
+        return viewChunkZ;
+    }
+
+    public int getViewDistance() {
+        return viewDistance;
+    }
+
+    /**
+     * @return Whether the chunk is inside the view distance (a cube around the view chunk).
+     */
+    public boolean isInView(int chunkX, int chunkY, int chunkZ) {
+        return Math.abs(chunkX - viewChunkX) <= viewDistance
+                && Math.abs(chunkY - viewChunkY) <= viewDistance
+                && Math.abs(chunkZ - viewChunkZ) <= viewDistance;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public void setState(State state) {
+        this.state = state;
+    }
+
+    public User getUser() {
+        return user;
+    }
+
+    public void setUser(User user) {
+        this.user = user;
+    }
+
+    public boolean isActive() {
+        return channel.isActive();
+    }
+
+    public Channel getChannel() {
+        return channel;
+    }
+}
@@ -0,0 +1,28 @@
+package com.chaotic_loom.game.networking.components;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.DefaultByteBufHolder;
+
+/**
+ * A decoded packet waiting to be handled: the packet and its payload, positioned after the packet ID.
+ * Reference counted through the payload, PacketChannelHandler releases it once handled.
+ */
+public class InboundPacket extends DefaultByteBufHolder {
+    private final Packet packet;
+
+    public InboundPacket(Packet packet, ByteBuf payload) {
+        super(payload);
+        this.packet = packet;
+    }
+
+    public Packet getPacket() {
+        return packet;
+    }
+
+    /**
+     * @return A PacketBuffer reading the payload, only valid while this packet is not released.
+     */
+    public PacketBuffer getPacketBuffer() {
+        return new PacketBuffer(content());
+    }
+}
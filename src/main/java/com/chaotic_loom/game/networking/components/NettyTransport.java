@@ -0,0 +1,58 @@
+package com.chaotic_loom.game.networking.components;
+
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.epoll.Epoll;
+import io.netty.channel.epoll.EpollEventLoopGroup;
+import io.netty.channel.epoll.EpollServerSocketChannel;
+import io.netty.channel.epoll.EpollSocketChannel;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.ServerSocketChannel;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.channel.socket.nio.NioSocketChannel;
+
+import java.util.function.IntFunction;
+
+/**
+ * The Netty transport used for sockets. Epoll (Linux native) avoids the JDK selector and its garbage, NIO works everywhere.
+ */
+public enum NettyTransport {
+    EPOLL(EpollEventLoopGroup::new, EpollServerSocketChannel.class, EpollSocketChannel.class),
+    NIO(NioEventLoopGroup::new, NioServerSocketChannel.class, NioSocketChannel.class);
+
+    private final IntFunction<EventLoopGroup> groupFactory;
+    private final Class<? extends ServerSocketChannel> serverChannelClass;
+    private final Class<? extends SocketChannel> channelClass;
+
+    NettyTransport(IntFunction<EventLoopGroup> groupFactory, Class<? extends ServerSocketChannel> serverChannelClass, Class<? extends SocketChannel> channelClass) {
+        this.groupFactory = groupFactory;
+        this.serverChannelClass = serverChannelClass;
+        this.channelClass = channelClass;
+    }
+
+    /**
+     * @return Epoll when allowed and its native library loads on this machine, NIO otherwise.
+     */
+    public static NettyTransport select(boolean allowNative) {
+        if (allowNative && Epoll.isAvailable()) {
+            return EPOLL;
+        }
+
+        return NIO;
+    }
+
+    /**
+     * @param threads Amount of event loop threads, 0 lets Netty pick (2 * cores).
+     */
+    public EventLoopGroup createEventLoopGroup(int threads) {
+        return groupFactory.apply(threads);
+    }
+
+    public Class<? extends ServerSocketChannel> getServerChannelClass() {
+        return serverChannelClass;
+    }
+
+    public Class<? extends SocketChannel> getChannelClass() {
+        return channelClass;
+    }
+}
@@ -0,0 +1,66 @@
+package com.chaotic_loom.game.networking.components;
+
+import com.chaotic_loom.game.core.util.ArgsManager;
+import com.chaotic_loom.game.networking.NetworkingManager;
+import io.netty.bootstrap.Bootstrap;
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.WriteBufferWaterMark;
+
+/**
+ * Socket and event loop settings, read from the launch arguments.
+ *
+ * @param nativeTransport Use Epoll when available (-native-transport, default true).
+ * @param bossThreads Threads accepting connections, server only (-network-boss-threads, default 1).
+ * @param workerThreads Threads doing the socket I/O, 0 lets Netty pick (-network-worker-threads, default 0).
+ * @param tcpNoDelay Disables Nagle's algorithm, writes are already coalesced per tick (-tcp-nodelay, default true).
+ * @param sendBufferSize SO_SNDBUF in bytes, 0 keeps the OS default (-so-sndbuf).
+ * @param receiveBufferSize SO_RCVBUF in bytes, 0 keeps the OS default (-so-rcvbuf).
+ * @param writeBufferLowWaterMark A channel becomes writable again below this many pending bytes (-write-buffer-low).
+ * @param writeBufferHighWaterMark A channel stops being writable above this many pending bytes (-write-buffer-high).
+ *                                 Unwritable connections skip droppable packets and get closed if they stay that way
+ *                                 for NetworkingManager.WRITE_STALL_TIMEOUT_SECONDS.
+ * @param maxFrameLength Largest frame accepted from the other side, in bytes (-max-frame-length).
+ * @param compressionThreshold Payloads from this size are compressed, negative disables compression. Server only,
+ *                             the client uses what the server sends at login (-compression-threshold).
+ */
+public record NetworkOptions(boolean nativeTransport, int bossThreads, int workerThreads, boolean tcpNoDelay,
+                             int sendBufferSize, int receiveBufferSize,
+                             int writeBufferLowWaterMark, int writeBufferHighWaterMark,
+                             int maxFrameLength, int compressionThreshold) {
+    public static NetworkOptions fromArgs(ArgsManager args) {
+        return new NetworkOptions(
+                args.getBoolean("native-transport", true),
+                args.getInt("network-boss-threads", 1),
+                args.getInt("network-worker-threads", 0),
+                args.getBoolean("tcp-nodelay", true),
+                args.getInt("so-sndbuf", 0),
+                args.getInt("so-rcvbuf", 0),
+                args.getInt("write-buffer-low", WriteBufferWaterMark.DEFAULT.low()),
+                args.getInt("write-buffer-high", WriteBufferWaterMark.DEFAULT.high()),
+                args.getInt("max-frame-length", NetworkingManager.DEFAULT_MAX_FRAME_LENGTH),
+                args.getInt("compression-threshold", NetworkingManager.DEFAULT_COMPRESSION_THRESHOLD)
+        );
+    }
+
+    public NettyTransport selectTransport() {
+        return NettyTransport.select(nativeTransport);
+    }
+
+    /**
+     * Applies the socket options to the accepted client channels.
+     */
+    public void applyTo(ServerBootstrap bootstrap) {
+        bootstrap.childOption(ChannelOption.TCP_NODELAY, tcpNoDelay);
+        bootstrap.childOption(ChannelOption.WRITE_BUFFER_WATER_MARK, new WriteBufferWaterMark(writeBufferLowWaterMark, writeBufferHighWaterMark));
+        if (sendBufferSize > 0) bootstrap.childOption(ChannelOption.SO_SNDBUF, sendBufferSize);
+        if (receiveBufferSize > 0) bootstrap.childOption(ChannelOption.SO_RCVBUF, receiveBufferSize);
+    }
+
+    public void applyTo(Bootstrap bootstrap) {
+        bootstrap.option(ChannelOption.TCP_NODELAY, tcpNoDelay);
+        bootstrap.option(ChannelOption.WRITE_BUFFER_WATER_MARK, new WriteBufferWaterMark(writeBufferLowWaterMark, writeBufferHighWaterMark));
+        if (sendBufferSize > 0) bootstrap.option(ChannelOption.SO_SNDBUF, sendBufferSize);
+        if (receiveBufferSize > 0) bootstrap.option(ChannelOption.SO_RCVBUF, receiveBufferSize);
+    }
+}
@@ -5,6 +5,8 @@ import com.chaotic_loom.game.core.Environment;
 import com.chaotic_loom.game.networking.NetworkingManager;
 import com.chaotic_loom.game.registries.Registry;
 import com.chaotic_loom.game.registries.components.RegistryObject;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.channel.Channel;
 import io.netty.channel.ChannelHandlerContext;
 
 public abstract class Packet extends RegistryObject {
@@ -14,12 +16,69 @@ public abstract class Packet extends RegistryObject {
         this.target = target;
     }
 
+    /**
+     * Handles a received packet, on the game thread unless isHandledOnNetworkThread says otherwise.
+     * The buffer is positioned after the packet ID and released as soon as this returns, so it must not be kept:
+     * read what is needed, or retain a slice and release it when done.
+     */
     public abstract void handle(NetworkingManager networkingManager, ChannelHandlerContext ctx, PacketBuffer packetBuffer);
 
+    /**
+     * Creates a pooled buffer for this packet with its length field reserved and its numeric ID already written,
+     * see PacketIdTable. Sending it hands it over to Netty, which releases it once written.
+     */
+    public PacketBuffer createBuffer() {
+        int id = AbstractLauncher.getEngine().getNetworkingManager().getPacketIdTable().getId(this);
+        if (id == -1) {
+            throw new IllegalStateException("Packet " + getIdentifier() + " has no network ID");
+        }
+
+        PacketBuffer packetBuffer = PacketBuffer.allocateFrame(ByteBufAllocator.DEFAULT);
+        packetBuffer.writeVarInt(id);
+
+        return packetBuffer;
+    }
+
     public void sendToChannel(PacketBuffer packetBuffer) {
         AbstractLauncher.getEngine().getNetworkingManager().send(this, packetBuffer);
     }
 
+    public void sendToChannel(Channel channel, PacketBuffer packetBuffer) {
+        AbstractLauncher.getEngine().getNetworkingManager().send(this, packetBuffer, channel);
+    }
+
+    public void broadcast(PacketBuffer packetBuffer) {
+        AbstractLauncher.getEngine().getNetworkingManager().broadcast(this, packetBuffer);
+    }
+
+    public void broadcastToArea(PacketBuffer packetBuffer, int chunkX, int chunkY, int chunkZ) {
+        AbstractLauncher.getEngine().getNetworkingManager().broadcastToArea(this, packetBuffer, chunkX, chunkY, chunkZ);
+    }
+
+    /**
+     * Whether handle can run directly on the Netty event loop. Otherwise the packet is queued on its connection and
+     * handled by the game thread on the next tick, which is needed for anything touching game state.
+     */
+    public boolean isHandledOnNetworkThread() {
+        return false;
+    }
+
+    /**
+     * Whether sends flush right away instead of waiting for the end of the tick (NetworkingManager.flushPendingWrites).
+     * For packets where a tick of delay matters more than the extra syscall.
+     */
+    public boolean isLatencyCritical() {
+        return false;
+    }
+
+    /**
+     * Whether the packet may be skipped for a connection that isn't writable (its outbound buffer is over the high
+     * water mark, see NetworkOptions), instead of piling up behind the rest. Only for packets nothing depends on.
+     */
+    public boolean isDroppable() {
+        return false;
+    }
+
     public Environment getTarget() {
         return target;
     }
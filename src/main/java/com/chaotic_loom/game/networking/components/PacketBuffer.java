@@ -1,25 +1,272 @@
 package com.chaotic_loom.game.networking.components;
 
+import com.chaotic_loom.game.networking.NetworkingManager;
 import com.chaotic_loom.game.registries.components.Identifier;
+import com.chaotic_loom.game.world.components.PackedPosition;
 import io.netty.buffer.ByteBuf;
-import io.netty.buffer.Unpooled;
-import io.netty.channel.Channel;
+import io.netty.buffer.ByteBufAllocator;
 
 import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Objects;
 import java.util.UUID;
 
 public class PacketBuffer {
     private ByteBuf buffer;
+    private final boolean framed; // Starts with a reserved length field, see allocateFrame
 
-    public PacketBuffer(Identifier identifier) {
-        this.buffer = Unpooled.buffer();
-        this.writeIdentifier(identifier);
+    public PacketBuffer(ByteBuf buffer) {
+        this(buffer, false);
     }
 
-    public PacketBuffer(ByteBuf buffer) {
+    private PacketBuffer(ByteBuf buffer, boolean framed) {
         this.buffer = buffer;
+        this.framed = framed;
+    }
+
+    /**
+     * Creates an outbound packet buffer from the allocator, with the length field reserved at the start.
+     * The packet is written right after it and finishFrame() fills it in, so the payload is never copied.
+     */
+    public static PacketBuffer allocateFrame(ByteBufAllocator allocator) {
+        ByteBuf buffer = allocator.ioBuffer();
+        buffer.writeZero(NetworkingManager.LENGTH_FIELD_LENGTH);
+
+        return new PacketBuffer(buffer, true);
+    }
+
+    public void writeByte(int value) {
+        this.buffer.writeByte(value);
+    }
+
+    public byte readByte() {
+        return this.buffer.readByte();
+    }
+
+    /**
+     * Writes an int using 1 to 5 bytes, 7 bits per byte, small non-negative values take the least space.
+     */
+    public void writeVarInt(int value) {
+        while ((value & ~0x7F) != 0) {
+            this.buffer.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+
+        this.buffer.writeByte(value);
+    }
+
+    public int readVarInt() {
+        int value = 0;
+        int shift = 0;
+        byte current;
+
+        do {
+            if (shift >= 35) {
+                throw new IllegalStateException("VarInt is too big");
+            }
+
+            current = this.buffer.readByte();
+            value |= (current & 0x7F) << shift;
+            shift += 7;
+        } while ((current & 0x80) != 0);
+
+        return value;
+    }
+
+    /**
+     * @return The amount of bytes writeVarInt uses for the value.
+     */
+    public static int getVarIntSize(int value) {
+        for (int bytes = 1; bytes < 5; bytes++) {
+            if ((value & (-1 << bytes * 7)) == 0) {
+                return bytes;
+            }
+        }
+
+        return 5;
+    }
+
+    public void writeVarLong(long value) {
+        while ((value & ~0x7FL) != 0) {
+            this.buffer.writeByte((int) (value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+
+        this.buffer.writeByte((int) value);
+    }
+
+    public long readVarLong() {
+        long value = 0;
+        int shift = 0;
+        byte current;
+
+        do {
+            if (shift >= 70) {
+                throw new IllegalStateException("VarLong is too big");
+            }
+
+            current = this.buffer.readByte();
+            value |= (long) (current & 0x7F) << shift;
+            shift += 7;
+        } while ((current & 0x80) != 0);
+
+        return value;
+    }
+
+    /**
+     * Zig-zag encoded VarInt, small negative values stay small too (-1 takes 1 byte instead of 5).
+     */
+    public void writeSignedVarInt(int value) {
+        writeVarInt((value << 1) ^ (value >> 31));
+    }
+
+    public int readSignedVarInt() {
+        int raw = readVarInt();
+        return (raw >>> 1) ^ -(raw & 1);
+    }
+
+    /**
+     * Zig-zag encoded VarLong, see writeSignedVarInt.
+     */
+    public void writeSignedVarLong(long value) {
+        writeVarLong((value << 1) ^ (value >> 63));
+    }
+
+    public long readSignedVarLong() {
+        long raw = readVarLong();
+        return (raw >>> 1) ^ -(raw & 1);
+    }
+
+    // --- Block positions: x, y and z as signed 21 bit values in one long (+-1048575 blocks), see PackedPosition ---
+
+    public void writeBlockPosition(int x, int y, int z) {
+        this.buffer.writeLong(PackedPosition.pack(x, y, z));
+    }
+
+    /**
+     * @return The packed position, read it with PackedPosition.unpackX / Y / Z.
+     */
+    public long readBlockPosition() {
+        return this.buffer.readLong();
+    }
+
+    /**
+     * Writes a float as a zig-zag VarInt with the given amount of fractional bits,
+     * e.g. 5 bits keeps 1/32 of precision, enough for positions inside a block.
+     */
+    public void writeFixedPoint(float value, int fractionalBits) {
+        writeSignedVarInt(Math.round(value * (1 << fractionalBits)));
+    }
+
+    public float readFixedPoint(int fractionalBits) {
+        return readSignedVarInt() / (float) (1 << fractionalBits);
+    }
+
+    public void writeBitSet(BitSet bitSet) {
+        writeLongArray(bitSet.toLongArray());
+    }
+
+    public BitSet readBitSet(int maxLongs) {
+        return BitSet.valueOf(readLongArray(maxLongs));
+    }
+
+    public void writeEnum(Enum<?> value) {
+        writeVarInt(value.ordinal());
+    }
+
+    /**
+     * @param values The enum constants, pass a cached values() array: Class.getEnumConstants() copies it on every call.
+     */
+    public <E extends Enum<E>> E readEnum(E[] values) {
+        int ordinal = readVarInt();
+        if (ordinal < 0 || ordinal >= values.length) {
+            throw new IllegalStateException("Invalid enum ordinal " + ordinal + ", expected less than " + values.length);
+        }
+
+        return values[ordinal];
+    }
+
+    // --- Bulk arrays: VarInt length followed by the raw values ---
+
+    public void writeIntArray(int[] values) {
+        writeVarInt(values.length);
+        this.buffer.ensureWritable(values.length * Integer.BYTES);
+        for (int value : values) {
+            this.buffer.writeInt(value);
+        }
+    }
+
+    /**
+     * @param maxLength Max length accepted, protects from allocating huge arrays because of a corrupted or malicious length.
+     */
+    public int[] readIntArray(int maxLength) {
+        int length = readArrayLength(maxLength, Integer.BYTES);
+        int[] values = new int[length];
+        for (int i = 0; i < length; i++) {
+            values[i] = this.buffer.readInt();
+        }
+        return values;
+    }
+
+    public void writeLongArray(long[] values) {
+        writeVarInt(values.length);
+        this.buffer.ensureWritable(values.length * Long.BYTES);
+        for (long value : values) {
+            this.buffer.writeLong(value);
+        }
+    }
+
+    /**
+     * @param maxLength See readIntArray.
+     */
+    public long[] readLongArray(int maxLength) {
+        int length = readArrayLength(maxLength, Long.BYTES);
+        long[] values = new long[length];
+        for (int i = 0; i < length; i++) {
+            values[i] = this.buffer.readLong();
+        }
+        return values;
+    }
+
+    public void writeShortArray(short[] values) {
+        writeVarInt(values.length);
+        this.buffer.ensureWritable(values.length * Short.BYTES);
+        for (short value : values) {
+            this.buffer.writeShort(value);
+        }
+    }
+
+    /**
+     * @param maxLength See readIntArray.
+     */
+    public short[] readShortArray(int maxLength) {
+        int length = readArrayLength(maxLength, Short.BYTES);
+        short[] values = new short[length];
+        for (int i = 0; i < length; i++) {
+            values[i] = this.buffer.readShort();
+        }
+        return values;
+    }
+
+    /**
+     * Reads a VarInt element count and checks it before anything gets allocated for it.
+     * @param maxLength Max count accepted.
+     * @param elementBytes Min bytes each element takes, the count must fit in the readable bytes.
+     * @throws IllegalStateException if the count is negative, above maxLength or can't fit.
+     */
+    public int readArrayLength(int maxLength, int elementBytes) {
+        int length = readVarInt();
+
+        if (length < 0 || length > maxLength) {
+            throw new IllegalStateException("Array length " + length + " is out of bounds, max is " + maxLength);
+        }
+
+        if ((long) length * elementBytes > this.buffer.readableBytes()) {
+            throw new IllegalStateException("Array of " + length + " elements does not fit in the remaining " + this.buffer.readableBytes() + " bytes");
+        }
+
+        return length;
     }
 
     public void writeString(String s) {
@@ -39,6 +286,10 @@ public class PacketBuffer {
             return null;
         }
 
+        if (length > this.buffer.readableBytes()) {
+            throw new IllegalStateException("String of " + length + " bytes does not fit in the remaining " + this.buffer.readableBytes() + " bytes");
+        }
+
         byte[] bytes = new byte[length];
         this.buffer.readBytes(bytes);
 
@@ -86,14 +337,26 @@ public class PacketBuffer {
 
     // Other
 
-    public ByteBuf getFinalBuffer(Channel channel) {
-        int dataLength = this.buffer.readableBytes();
-        ByteBuf finalBuffer = channel.alloc().buffer(4 + dataLength);
+    /**
+     * Writes the payload length into the reserved length field.
+     * @return The framed buffer, ready to be written to a channel. The channel takes ownership and releases it.
+     * @throws IllegalStateException if this buffer was not created with allocateFrame.
+     */
+    public ByteBuf finishFrame() {
+        if (!framed) {
+            throw new IllegalStateException("Only buffers created with allocateFrame can be framed");
+        }
 
-        finalBuffer.writeInt(dataLength);
-        finalBuffer.writeBytes(this.buffer);
+        this.buffer.setInt(0, this.buffer.writerIndex() - NetworkingManager.LENGTH_FIELD_LENGTH);
+
+        return this.buffer;
+    }
 
-        return finalBuffer;
+    /**
+     * Releases the underlying buffer, for packets that end up not being sent.
+     */
+    public void release() {
+        this.buffer.release();
     }
 
     @Override
@@ -0,0 +1,138 @@
+package com.chaotic_loom.game.networking.components;
+
+import com.chaotic_loom.game.core.Loggers;
+import com.chaotic_loom.game.registries.Registry;
+import com.chaotic_loom.game.registries.built_in.Packets;
+import com.chaotic_loom.game.registries.built_in.RegistryKeys;
+import com.chaotic_loom.game.registries.components.Identifier;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+/**
+ * Maps packets to the small numeric IDs sent on the wire (as a VarInt) instead of their identifier string.
+ *
+ * Both sides start with the table built from their own PACKETS registry. The handshake packets have fixed IDs
+ * (login is LOGIN_ID, packet_ids is PACKET_IDS_ID) so both sides agree on them before the sync whatever else is
+ * registered, the rest follow in identifier order so equal registries produce equal tables. The server sends its
+ * table during login (PacketIdsPacket) and the client switches to it, so the server's numbering wins if the
+ * registries differ.
+ *
+ * Immutable, safe to share between threads.
+ */
+public class PacketIdTable {
+    public static final int LOGIN_ID = 0;
+    public static final int PACKET_IDS_ID = 1;
+    private static final int HANDSHAKE_PACKETS = 2;
+
+    private final Packet[] packetsById;
+    private final int[] idsByInternalMappedID; // RegistryObject.internalMappedRegistryID -> packet ID, -1 if none
+
+    private PacketIdTable(Packet[] packetsById) {
+        this.packetsById = packetsById;
+
+        int maxInternalID = -1;
+        for (Packet packet : packetsById) {
+            if (packet != null) maxInternalID = Math.max(maxInternalID, packet.getInternalMappedRegistryID());
+        }
+
+        this.idsByInternalMappedID = new int[maxInternalID + 1];
+        Arrays.fill(idsByInternalMappedID, -1);
+
+        for (int id = 0; id < packetsById.length; id++) {
+            Packet packet = packetsById[id];
+            if (packet != null) idsByInternalMappedID[packet.getInternalMappedRegistryID()] = id;
+        }
+    }
+
+    /**
+     * Builds the table from the local PACKETS registry.
+     */
+    public static PacketIdTable fromRegistry() {
+        Map<Identifier, Packet> registry = Registry.getRegistrySet(RegistryKeys.PACKETS);
+        if (registry == null) {
+            return new PacketIdTable(new Packet[0]);
+        }
+
+        List<Identifier> identifiers = new ArrayList<>(registry.keySet());
+        identifiers.remove(Packets.LOGIN.getIdentifier());
+        identifiers.remove(Packets.PACKET_IDS.getIdentifier());
+        identifiers.sort(Comparator.comparing(Identifier::toString));
+
+        Packet[] packets = new Packet[HANDSHAKE_PACKETS + identifiers.size()];
+        packets[LOGIN_ID] = Packets.LOGIN;
+        packets[PACKET_IDS_ID] = Packets.PACKET_IDS;
+        for (int i = 0; i < identifiers.size(); i++) {
+            packets[HANDSHAKE_PACKETS + i] = registry.get(identifiers.get(i));
+        }
+
+        return new PacketIdTable(packets);
+    }
+
+    /**
+     * Builds the table received from the other side, the packet ID is the position in the list.
+     * Identifiers unknown locally keep their ID but resolve to no packet.
+     * @throws IllegalStateException if the handshake packets are not at their fixed IDs.
+     */
+    public static PacketIdTable fromIdentifiers(List<Identifier> identifiers) {
+        if (identifiers.size() < HANDSHAKE_PACKETS
+                || !Packets.LOGIN.getIdentifier().equals(identifiers.get(LOGIN_ID))
+                || !Packets.PACKET_IDS.getIdentifier().equals(identifiers.get(PACKET_IDS_ID))) {
+            throw new IllegalStateException("The received packet IDs don't start with the handshake packets");
+        }
+
+        Packet[] packets = new Packet[identifiers.size()];
+        packets[LOGIN_ID] = Packets.LOGIN;
+        packets[PACKET_IDS_ID] = Packets.PACKET_IDS;
+
+        for (int id = HANDSHAKE_PACKETS; id < packets.length; id++) {
+            Identifier identifier = identifiers.get(id);
+            packets[id] = Registry.getRegistryObject(RegistryKeys.PACKETS, identifier);
+
+            if (packets[id] == null) {
+                Loggers.NETWORKING.warn("Packet {} (ID {}) is unknown, it will be ignored.", identifier, id);
+            }
+        }
+
+        return new PacketIdTable(packets);
+    }
+
+    /**
+     * @return The packet with the given ID, or null if the ID is unknown.
+     */
+    @Nullable
+    public Packet getPacket(int id) {
+        if (id < 0 || id >= packetsById.length) {
+            return null;
+        }
+
+        return packetsById[id];
+    }
+
+    /**
+     * @return The ID of the packet, or -1 if this table doesn't contain it.
+     */
+    public int getId(Packet packet) {
+        int internalID = packet.getInternalMappedRegistryID();
+        if (internalID < 0 || internalID >= idsByInternalMappedID.length) {
+            return -1;
+        }
+
+        return idsByInternalMappedID[internalID];
+    }
+
+    /**
+     * @return The identifiers in ID order (null for unknown packets), as sent to the other side.
+     */
+    public List<Identifier> getIdentifiers() {
+        List<Identifier> identifiers = new ArrayList<>(packetsById.length);
+        for (Packet packet : packetsById) {
+            identifiers.add(packet != null ? packet.getIdentifier() : null);
+        }
+        return identifiers;
+    }
+
+    public int size() {
+        return packetsById.length;
+    }
+}
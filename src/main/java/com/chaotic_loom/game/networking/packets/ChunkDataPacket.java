@@ -0,0 +1,45 @@
+package com.chaotic_loom.game.networking.packets;
+
+import com.chaotic_loom.game.core.Environment;
+import com.chaotic_loom.game.events.ChunkEvents;
+import com.chaotic_loom.game.networking.NetworkingManager;
+import com.chaotic_loom.game.networking.components.Packet;
+import com.chaotic_loom.game.networking.components.PacketBuffer;
+import com.chaotic_loom.game.world.ChunkData;
+import com.chaotic_loom.game.world.ChunkSerializer;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+
+/**
+ * A full chunk, see ChunkSerializer for the format. Received chunks are handed to ChunkEvents.RECEIVED.
+ */
+public class ChunkDataPacket extends Packet {
+    public ChunkDataPacket() {
+        super(Environment.CLIENT);
+    }
+
+    @Override
+    public void handle(NetworkingManager networkingManager, ChannelHandlerContext ctx, PacketBuffer packetBuffer) {
+        ChunkData chunk = ChunkSerializer.read(packetBuffer);
+        ChunkEvents.RECEIVED.invoker().onEvent(chunk);
+    }
+
+    public void send(Channel channel, ChunkData chunk) {
+        PacketBuffer packetBuffer = createBuffer();
+
+        ChunkSerializer.write(chunk, packetBuffer);
+
+        sendToChannel(channel, packetBuffer);
+    }
+
+    /**
+     * Sends the chunk to every connection that sees it, encoded once.
+     */
+    public void sendToViewers(ChunkData chunk) {
+        PacketBuffer packetBuffer = createBuffer();
+
+        ChunkSerializer.write(chunk, packetBuffer);
+
+        broadcastToArea(packetBuffer, chunk.getChunkX(), chunk.getChunkY(), chunk.getChunkZ());
+    }
+}
@@ -0,0 +1,47 @@
+package com.chaotic_loom.game.networking.packets;
+
+import com.chaotic_loom.game.core.Environment;
+import com.chaotic_loom.game.networking.NetworkingManager;
+import com.chaotic_loom.game.networking.components.Connection;
+import com.chaotic_loom.game.networking.components.Packet;
+import com.chaotic_loom.game.networking.components.PacketBuffer;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+
+/**
+ * Sent by the server on login when compression is enabled: the threshold both sides compress with from then on.
+ * It is the last uncompressed packet of the connection.
+ */
+public class CompressionPacket extends Packet {
+    public CompressionPacket() {
+        super(Environment.CLIENT);
+    }
+
+    @Override
+    public void handle(NetworkingManager networkingManager, ChannelHandlerContext ctx, PacketBuffer packetBuffer) {
+        int threshold = packetBuffer.readVarInt();
+        Connection.get(ctx.channel()).enableCompression(threshold);
+    }
+
+    @Override
+    public boolean isHandledOnNetworkThread() {
+        return true; // The next frame may already be compressed
+    }
+
+    @Override
+    public boolean isLatencyCritical() {
+        return true; // Nothing else happens until compression is agreed
+    }
+
+    /**
+     * Sends the threshold and enables compression on our side, right after the packet leaves.
+     */
+    public void send(Channel channel, int threshold) {
+        PacketBuffer packetBuffer = createBuffer();
+
+        packetBuffer.writeVarInt(threshold);
+
+        sendToChannel(channel, packetBuffer);
+        Connection.get(channel).enableCompression(threshold);
+    }
+}
@@ -3,9 +3,11 @@ package com.chaotic_loom.game.networking.packets;
 import com.chaotic_loom.game.core.Environment;
 import com.chaotic_loom.game.core.Loggers;
 import com.chaotic_loom.game.networking.NetworkingManager;
+import com.chaotic_loom.game.networking.components.Connection;
 import com.chaotic_loom.game.networking.components.Packet;
 import com.chaotic_loom.game.networking.components.PacketBuffer;
 import com.chaotic_loom.game.networking.components.User;
+import com.chaotic_loom.game.registries.built_in.Packets;
 import io.netty.channel.ChannelHandlerContext;
 
 public class LoginPacket extends Packet {
@@ -18,10 +20,24 @@ public class LoginPacket extends Packet {
         User user = packetBuffer.readUser();
 
         Loggers.NETWORKING.warn("Login packet received by {}", user);
+        networkingManager.registerUser(Connection.get(ctx.channel()), user);
+
+        // From now on the client uses our packet IDs
+        Packets.PACKET_IDS.send(ctx.channel(), networkingManager.getPacketIdTable());
+
+        int compressionThreshold = networkingManager.getNetworkOptions().compressionThreshold();
+        if (compressionThreshold >= 0) {
+            Packets.COMPRESSION.send(ctx.channel(), compressionThreshold);
+        }
+    }
+
+    @Override
+    public boolean isLatencyCritical() {
+        return true; // Nothing else happens until the login is answered
     }
 
     public void send(User user) {
-        PacketBuffer packetBuffer = new PacketBuffer(getIdentifier());
+        PacketBuffer packetBuffer = createBuffer();
 
         packetBuffer.writeUser(user);
 
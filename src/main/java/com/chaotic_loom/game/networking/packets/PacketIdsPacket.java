@@ -0,0 +1,60 @@
+package com.chaotic_loom.game.networking.packets;
+
+import com.chaotic_loom.game.core.Environment;
+import com.chaotic_loom.game.core.Loggers;
+import com.chaotic_loom.game.networking.NetworkingManager;
+import com.chaotic_loom.game.networking.components.Packet;
+import com.chaotic_loom.game.networking.components.PacketBuffer;
+import com.chaotic_loom.game.networking.components.PacketIdTable;
+import com.chaotic_loom.game.registries.components.Identifier;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Sent by the server on login: its packet identifiers in ID order, the client uses them from then on.
+ */
+public class PacketIdsPacket extends Packet {
+    public static final int MAX_PACKET_IDS = 4096; // Far above the packets that exist, bounds what a bad server makes the client allocate
+
+    public PacketIdsPacket() {
+        super(Environment.CLIENT);
+    }
+
+    @Override
+    public void handle(NetworkingManager networkingManager, ChannelHandlerContext ctx, PacketBuffer packetBuffer) {
+        int count = packetBuffer.readArrayLength(MAX_PACKET_IDS, Integer.BYTES); // Every identifier starts with its string length
+
+        List<Identifier> identifiers = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            identifiers.add(packetBuffer.readIdentifier());
+        }
+
+        networkingManager.setPacketIdTable(PacketIdTable.fromIdentifiers(identifiers));
+        Loggers.NETWORKING.info("Received {} packet IDs from the server", count);
+    }
+
+    @Override
+    public boolean isHandledOnNetworkThread() {
+        return true; // The table must be in place before the event loop decodes the next packet
+    }
+
+    @Override
+    public boolean isLatencyCritical() {
+        return true; // Nothing else happens until the client has the table
+    }
+
+    public void send(Channel channel, PacketIdTable table) {
+        PacketBuffer packetBuffer = createBuffer();
+
+        List<Identifier> identifiers = table.getIdentifiers();
+        packetBuffer.writeVarInt(identifiers.size());
+        for (Identifier identifier : identifiers) {
+            packetBuffer.writeIdentifier(identifier);
+        }
+
+        sendToChannel(channel, packetBuffer);
+    }
+}
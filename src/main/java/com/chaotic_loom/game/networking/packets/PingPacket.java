@@ -19,8 +19,18 @@ public class PingPacket extends Packet {
         Loggers.NETWORKING.debug("Ping packet received by {}", user);
     }
 
+    @Override
+    public boolean isLatencyCritical() {
+        return true; // Measures latency, must not wait for the flush
+    }
+
+    @Override
+    public boolean isDroppable() {
+        return true; // A ping stuck behind a full buffer measures nothing
+    }
+
     public void send(User user) {
-        PacketBuffer packetBuffer = new PacketBuffer(getIdentifier());
+        PacketBuffer packetBuffer = createBuffer();
 
         packetBuffer.writeUser(user);
 
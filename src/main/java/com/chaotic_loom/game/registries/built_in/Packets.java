@@ -2,7 +2,10 @@ package com.chaotic_loom.game.registries.built_in;
 
 import com.chaotic_loom.game.core.Environment;
 import com.chaotic_loom.game.core.util.SharedConstants;
+import com.chaotic_loom.game.networking.packets.ChunkDataPacket;
+import com.chaotic_loom.game.networking.packets.CompressionPacket;
 import com.chaotic_loom.game.networking.packets.LoginPacket;
+import com.chaotic_loom.game.networking.packets.PacketIdsPacket;
 import com.chaotic_loom.game.networking.packets.PingPacket;
 import com.chaotic_loom.game.registries.Registry;
 import com.chaotic_loom.game.registries.components.Identifier;
@@ -12,9 +15,15 @@ import com.chaotic_loom.game.registries.components.Registration;
 public class Packets {
     public static LoginPacket LOGIN;
     public static PingPacket PING;
+    public static PacketIdsPacket PACKET_IDS;
+    public static CompressionPacket COMPRESSION;
+    public static ChunkDataPacket CHUNK_DATA;
 
     public static void register() {
         LOGIN = (LoginPacket) Registry.register(RegistryKeys.PACKETS, new Identifier(SharedConstants.NAMESPACE, "login"), new LoginPacket());
         PING = (PingPacket) Registry.register(RegistryKeys.PACKETS, new Identifier(SharedConstants.NAMESPACE, "ping"), new PingPacket());
+        PACKET_IDS = (PacketIdsPacket) Registry.register(RegistryKeys.PACKETS, new Identifier(SharedConstants.NAMESPACE, "packet_ids"), new PacketIdsPacket());
+        COMPRESSION = (CompressionPacket) Registry.register(RegistryKeys.PACKETS, new Identifier(SharedConstants.NAMESPACE, "compression"), new CompressionPacket());
+        CHUNK_DATA = (ChunkDataPacket) Registry.register(RegistryKeys.PACKETS, new Identifier(SharedConstants.NAMESPACE, "chunk_data"), new ChunkDataPacket());
     }
 }
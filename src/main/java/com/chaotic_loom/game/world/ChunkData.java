@@ -1,40 +1,47 @@
 package com.chaotic_loom.game.world;
 
 import com.chaotic_loom.game.core.Loggers;
-import com.chaotic_loom.game.registries.Registry;
 import com.chaotic_loom.game.registries.built_in.Blocks;
-import com.chaotic_loom.game.world.components.Block;
 import com.chaotic_loom.game.world.components.BlockInstance;
+import com.chaotic_loom.game.world.components.PackedPosition;
+import com.chaotic_loom.game.world.components.PalettedBlockStorage;
 
 import static com.chaotic_loom.game.core.util.SharedConstants.*;
 
 public class ChunkData {
-    // Core data: 3D array of block volatile IDs.
-    private final BlockInstance[][][] blocks;
+    public static final int BLOCK_COUNT = CHUNK_WIDTH * CHUNK_HEIGHT * CHUNK_DEPTH;
+
+    // Core data: palette of block states + packed indices, see PalettedBlockStorage
+    private final PalettedBlockStorage blocks;
 
     // Store chunk's position in the world grid
     private final int chunkX, chunkY, chunkZ;
 
+    private volatile boolean dirty = false; // Changed since the last snapshot taken to save it
+
     /**
-     * Creates a new ChunkData object, initializing the block array.
+     * Creates a new ChunkData object filled with air.
      * @param chunkX World grid X coordinate of the chunk.
      * @param chunkY World grid Y coordinate of the chunk.
      * @param chunkZ World grid Z coordinate of the chunk.
      */
     public ChunkData(int chunkX, int chunkY, int chunkZ) {
+        this(chunkX, chunkY, chunkZ, new PalettedBlockStorage(BLOCK_COUNT, Blocks.AIR.getDefaultState()));
+    }
+
+    /**
+     * Creates a ChunkData object backed by an already populated storage (e.g. decoded or copied data).
+     * @param blocks Storage holding exactly BLOCK_COUNT entries.
+     */
+    public ChunkData(int chunkX, int chunkY, int chunkZ, PalettedBlockStorage blocks) {
+        if (blocks.getSize() != BLOCK_COUNT) {
+            throw new IllegalArgumentException("Chunk storage must hold " + BLOCK_COUNT + " blocks, found: " + blocks.getSize());
+        }
+
         this.chunkX = chunkX;
         this.chunkY = chunkY;
         this.chunkZ = chunkZ;
-
-        this.blocks = new BlockInstance[CHUNK_WIDTH][CHUNK_HEIGHT][CHUNK_DEPTH];
-
-        for (int x = 0; x < CHUNK_WIDTH; x++) {
-            for (int y = 0; y < CHUNK_HEIGHT; y++) {
-                for (int z = 0; z < CHUNK_DEPTH; z++) {
-                    this.blocks[x][y][z] = Blocks.AIR.createInstance();
-                }
-            }
-        }
+        this.blocks = blocks;
     }
 
     // --- Getters for Coordinates ---
@@ -59,7 +66,8 @@ public class ChunkData {
             return false;
         }
 
-        blocks[x][y][z] = block;
+        blocks.set(getIndex(x, y, z), block);
+        dirty = true;
         return true;
     }
 
@@ -73,15 +81,11 @@ public class ChunkData {
      * @return The block type ID, or BLOCK_AIR if out of bounds.
      */
     public BlockInstance getBlock(int x, int y, int z) {
-        BlockInstance blockInstance;
-
         if (isOutOfBounds(x, y, z)) {
-            blockInstance = Blocks.AIR.createInstance();
-        } else {
-            blockInstance =  blocks[x][y][z];
+            return Blocks.AIR.getDefaultState(); // Shared instance, no allocation
         }
 
-        return blockInstance;
+        return blocks.get(getIndex(x, y, z));
     }
 
     /**
@@ -99,12 +103,59 @@ public class ChunkData {
     }
 
     /**
-     * Provides direct access to the underlying block data array.
+     * Converts local coordinates into the flat storage index, X varies fastest, then Z, then Y.
+     * Coordinates are NOT bounds checked.
+     */
+    public static int getIndex(int x, int y, int z) {
+        return (y * CHUNK_DEPTH + z) * CHUNK_WIDTH + x;
+    }
+
+    /**
+     * Packs chunk grid coordinates into a single long, usable as a map key.
+     * Each coordinate keeps its lower 21 bits (+-1M chunks), see PackedPosition.
+     */
+    public static long getPositionKey(int chunkX, int chunkY, int chunkZ) {
+        return PackedPosition.pack(chunkX, chunkY, chunkZ);
+    }
+
+    /**
+     * Creates an independent copy of this chunk, safe to read from other threads while this one keeps changing.
+     */
+    public synchronized ChunkData copy() {
+        return new ChunkData(chunkX, chunkY, chunkZ, blocks.copy());
+    }
+
+    public boolean isDirty() {
+        return dirty;
+    }
+
+    /**
+     * Marks the chunk as changed, for changes made through getBlocksRaw.
+     */
+    public void markDirty() {
+        dirty = true;
+    }
+
+    /**
+     * Takes a copy to save and clears the dirty flag, atomically with the writers.
+     * @return The copy, or null if the chunk did not change since the last one.
+     */
+    public synchronized ChunkData takeDirtySnapshot() {
+        if (!dirty) {
+            return null;
+        }
+
+        dirty = false;
+        return copy();
+    }
+
+    /**
+     * Provides direct access to the underlying block storage.
      * Use with caution - intended for efficient iteration (e.g., meshing, saving).
-     * Modifying the returned array directly bypasses bounds checks and synchronization.
-     * @return The internal 3D byte array of block IDs.
+     * Modifying the returned storage directly bypasses bounds checks and synchronization.
+     * @return The internal paletted block storage, indexed with getIndex.
      */
-    public BlockInstance[][][] getBlocksRaw() {
+    public PalettedBlockStorage getBlocksRaw() {
         return blocks;
     }
 }
\ No newline at end of file
@@ -0,0 +1,273 @@
+package com.chaotic_loom.game.world;
+
+import com.chaotic_loom.game.core.Loggers;
+import com.chaotic_loom.game.networking.components.PacketBuffer;
+import com.chaotic_loom.game.registries.Registry;
+import com.chaotic_loom.game.registries.built_in.Blocks;
+import com.chaotic_loom.game.registries.built_in.RegistryKeys;
+import com.chaotic_loom.game.registries.components.Identifier;
+import com.chaotic_loom.game.world.components.Block;
+import com.chaotic_loom.game.world.components.BlockInstance;
+import com.chaotic_loom.game.world.components.PackedBitArray;
+import com.chaotic_loom.game.world.components.PalettedBlockStorage;
+
+/**
+ * Serialized format of a chunk: its position (zig-zag VarInts), a format byte and the body of that format.
+ * <ul>
+ *     <li>EMPTY: all air, no body.</li>
+ *     <li>SINGLE: a single state.</li>
+ *     <li>PALETTED: the palette, the index width and the packed indices as they are stored.</li>
+ *     <li>RLE: the palette and (length, palette index) runs, picked when smaller than PALETTED (layered or mostly uniform chunks).</li>
+ * </ul>
+ * On the network (write/read) states are sent as their IDs, both sides must have the same blocks registered.
+ * On disk (writeForStorage/readFromStorage) they are saved as block identifier plus direction, since state IDs
+ * change whenever blocks are added or reordered.
+ * Decoding only allocates the palette and the packed longs, never per block.
+ */
+public final class ChunkSerializer {
+    private ChunkSerializer() {} // Static class
+
+    private static final byte FORMAT_EMPTY = 0;
+    private static final byte FORMAT_SINGLE = 1;
+    private static final byte FORMAT_PALETTED = 2;
+    private static final byte FORMAT_RLE = 3;
+
+    public static void write(ChunkData chunk, PacketBuffer buffer) {
+        write(chunk, buffer, false);
+    }
+
+    /**
+     * @throws IllegalStateException if the data is malformed or references unknown states.
+     */
+    public static ChunkData read(PacketBuffer buffer) {
+        return read(buffer, false);
+    }
+
+    /**
+     * Writes the chunk with its states by name, to be read back by readFromStorage.
+     */
+    public static void writeForStorage(ChunkData chunk, PacketBuffer buffer) {
+        write(chunk, buffer, true);
+    }
+
+    /**
+     * Reads a chunk written by writeForStorage. Blocks no longer registered are loaded as air.
+     * @throws IllegalStateException if the data is malformed.
+     */
+    public static ChunkData readFromStorage(PacketBuffer buffer) {
+        return read(buffer, true);
+    }
+
+    private static void write(ChunkData chunk, PacketBuffer buffer, boolean byName) {
+        buffer.writeSignedVarInt(chunk.getChunkX());
+        buffer.writeSignedVarInt(chunk.getChunkY());
+        buffer.writeSignedVarInt(chunk.getChunkZ());
+
+        synchronized (chunk) { // Same lock as ChunkData's writers
+            PalettedBlockStorage blocks = chunk.getBlocksRaw();
+
+            if (blocks.isUniform()) {
+                BlockInstance state = blocks.getPaletteEntry(0);
+
+                if (state.getBlock() == Blocks.AIR) {
+                    buffer.writeByte(FORMAT_EMPTY);
+                } else {
+                    buffer.writeByte(FORMAT_SINGLE);
+                    writeState(state, buffer, byName);
+                }
+                return;
+            }
+
+            PackedBitArray indices = blocks.getIndices();
+            long[] packed = indices.getRaw();
+
+            if (getRunLengthSize(indices) < packed.length * Long.BYTES) {
+                buffer.writeByte(FORMAT_RLE);
+                writePalette(blocks, buffer, byName);
+                writeRuns(indices, buffer);
+            } else {
+                buffer.writeByte(FORMAT_PALETTED);
+                writePalette(blocks, buffer, byName);
+                buffer.writeByte(indices.getBits());
+                buffer.writeLongArray(packed);
+            }
+        }
+    }
+
+    private static ChunkData read(PacketBuffer buffer, boolean byName) {
+        int chunkX = buffer.readSignedVarInt();
+        int chunkY = buffer.readSignedVarInt();
+        int chunkZ = buffer.readSignedVarInt();
+
+        byte format = buffer.readByte();
+        PalettedBlockStorage blocks = switch (format) {
+            case FORMAT_EMPTY -> new PalettedBlockStorage(ChunkData.BLOCK_COUNT, Blocks.AIR.getDefaultState());
+            case FORMAT_SINGLE -> new PalettedBlockStorage(ChunkData.BLOCK_COUNT, readState(buffer, byName));
+            case FORMAT_PALETTED -> readPaletted(buffer, byName);
+            case FORMAT_RLE -> readRuns(buffer, byName);
+            default -> throw new IllegalStateException("Unknown chunk format " + format);
+        };
+
+        return new ChunkData(chunkX, chunkY, chunkZ, blocks);
+    }
+
+    // --- Palette ---
+
+    private static void writePalette(PalettedBlockStorage blocks, PacketBuffer buffer, boolean byName) {
+        int paletteSize = blocks.getPaletteSize();
+
+        buffer.writeVarInt(paletteSize);
+        for (int i = 0; i < paletteSize; i++) {
+            writeState(blocks.getPaletteEntry(i), buffer, byName);
+        }
+    }
+
+    private static BlockInstance[] readPalette(PacketBuffer buffer, boolean byName) {
+        int paletteSize = buffer.readVarInt();
+        if (paletteSize < 2 || paletteSize > ChunkData.BLOCK_COUNT) {
+            throw new IllegalStateException("Invalid chunk palette size " + paletteSize);
+        }
+
+        BlockInstance[] palette = new BlockInstance[paletteSize];
+        for (int i = 0; i < paletteSize; i++) {
+            palette[i] = readState(buffer, byName);
+        }
+
+        return palette;
+    }
+
+    private static void writeState(BlockInstance state, PacketBuffer buffer, boolean byName) {
+        if (byName) {
+            buffer.writeIdentifier(state.getBlock().getIdentifier());
+            buffer.writeString(state.getDirection().name());
+        } else {
+            buffer.writeVarInt(state.getStateId());
+        }
+    }
+
+    private static BlockInstance readState(PacketBuffer buffer, boolean byName) {
+        return byName ? readNamedState(buffer) : readStateId(buffer);
+    }
+
+    private static BlockInstance readStateId(PacketBuffer buffer) {
+        int stateId = buffer.readVarInt();
+        if (stateId < 0 || stateId >= BlockInstance.getStateCount()) {
+            throw new IllegalStateException("Unknown block state " + stateId);
+        }
+
+        return BlockInstance.byStateId(stateId);
+    }
+
+    private static BlockInstance readNamedState(PacketBuffer buffer) {
+        Identifier identifier = buffer.readIdentifier();
+        String directionName = buffer.readString();
+
+        Block block = Registry.getRegistryObject(RegistryKeys.BLOCK, identifier);
+        if (block == null) {
+            Loggers.CHUNK.warn("Unknown block {} in a saved chunk, loading it as air.", identifier);
+            return Blocks.AIR.getDefaultState();
+        }
+
+        Block.Direction direction;
+        try {
+            direction = Block.Direction.valueOf(directionName);
+        } catch (IllegalArgumentException | NullPointerException exception) {
+            Loggers.CHUNK.warn("Unknown direction {} for block {} in a saved chunk, using its default state.", directionName, identifier);
+            return block.getDefaultState();
+        }
+
+        return block.getState(direction);
+    }
+
+    // --- Paletted ---
+
+    private static PalettedBlockStorage readPaletted(PacketBuffer buffer, boolean byName) {
+        BlockInstance[] palette = readPalette(buffer, byName);
+        int bits = buffer.readByte();
+
+        if (bits < PalettedBlockStorage.getBitsForPaletteSize(palette.length) || bits > 16 || Integer.bitCount(bits) != 1) {
+            throw new IllegalStateException("Invalid index width of " + bits + " bits for a palette of " + palette.length);
+        }
+
+        int longCount = PackedBitArray.getLongCount(bits, ChunkData.BLOCK_COUNT);
+        long[] packed = buffer.readLongArray(longCount);
+        if (packed.length != longCount) {
+            throw new IllegalStateException("Expected " + longCount + " packed longs, found " + packed.length);
+        }
+
+        PackedBitArray indices = new PackedBitArray(bits, ChunkData.BLOCK_COUNT, packed);
+        for (int i = 0; i < ChunkData.BLOCK_COUNT; i++) {
+            if (indices.get(i) >= palette.length) {
+                throw new IllegalStateException("Palette index " + indices.get(i) + " out of a palette of " + palette.length);
+            }
+        }
+
+        return PalettedBlockStorage.of(ChunkData.BLOCK_COUNT, palette, indices);
+    }
+
+    // --- Run-length ---
+
+    /**
+     * @return The bytes the runs of the indices take on the wire.
+     */
+    private static int getRunLengthSize(PackedBitArray indices) {
+        int bytes = 0;
+        int current = indices.get(0);
+        int runStart = 0;
+
+        for (int i = 1; i <= ChunkData.BLOCK_COUNT; i++) {
+            int value = i < ChunkData.BLOCK_COUNT ? indices.get(i) : -1;
+            if (value != current) {
+                bytes += PacketBuffer.getVarIntSize(i - runStart) + PacketBuffer.getVarIntSize(current);
+                current = value;
+                runStart = i;
+            }
+        }
+
+        return bytes;
+    }
+
+    private static void writeRuns(PackedBitArray indices, PacketBuffer buffer) {
+        int current = indices.get(0);
+        int runStart = 0;
+
+        for (int i = 1; i <= ChunkData.BLOCK_COUNT; i++) {
+            int value = i < ChunkData.BLOCK_COUNT ? indices.get(i) : -1;
+            if (value != current) {
+                buffer.writeVarInt(i - runStart);
+                buffer.writeVarInt(current);
+                current = value;
+                runStart = i;
+            }
+        }
+    }
+
+    private static PalettedBlockStorage readRuns(PacketBuffer buffer, boolean byName) {
+        BlockInstance[] palette = readPalette(buffer, byName);
+        PackedBitArray indices = new PackedBitArray(PalettedBlockStorage.getBitsForPaletteSize(palette.length), ChunkData.BLOCK_COUNT);
+
+        int index = 0;
+        while (index < ChunkData.BLOCK_COUNT) {
+            int length = buffer.readVarInt();
+            int paletteIndex = buffer.readVarInt();
+
+            if (length <= 0 || length > ChunkData.BLOCK_COUNT - index) {
+                throw new IllegalStateException("Invalid run of " + length + " blocks at " + index);
+            }
+
+            if (paletteIndex < 0 || paletteIndex >= palette.length) {
+                throw new IllegalStateException("Palette index " + paletteIndex + " out of a palette of " + palette.length);
+            }
+
+            if (paletteIndex != 0) { // Indices start zeroed
+                for (int end = index + length; index < end; index++) {
+                    indices.set(index, paletteIndex);
+                }
+            } else {
+                index += length;
+            }
+        }
+
+        return PalettedBlockStorage.of(ChunkData.BLOCK_COUNT, palette, indices);
+    }
+}
@@ -0,0 +1,136 @@
+package com.chaotic_loom.game.world;
+
+import com.chaotic_loom.game.registries.built_in.Blocks;
+import com.chaotic_loom.game.world.components.BlockInstance;
+import com.chaotic_loom.game.world.components.PalettedBlockStorage;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+
+import static com.chaotic_loom.game.core.util.SharedConstants.*;
+
+/**
+ * Immutable copy of a chunk's block states plus a one block border taken from its six face neighbours.
+ * Local coordinates go from -1 to CHUNK_SIZE (inclusive), so border lookups never leave the snapshot.
+ * Edge and corner padding is not filled (AIR), nothing that only looks at face neighbours needs it.
+ * Missing neighbours are treated as AIR too.
+ */
+public class PaddedChunkSnapshot {
+    public static final int PADDED_WIDTH = CHUNK_WIDTH + 2;
+    public static final int PADDED_HEIGHT = CHUNK_HEIGHT + 2;
+    public static final int PADDED_DEPTH = CHUNK_DEPTH + 2;
+
+    private final int chunkX, chunkY, chunkZ;
+    private final int[] stateIds; // Padded, see getPaddedIndex
+
+    private PaddedChunkSnapshot(int chunkX, int chunkY, int chunkZ, int[] stateIds) {
+        this.chunkX = chunkX;
+        this.chunkY = chunkY;
+        this.chunkZ = chunkZ;
+        this.stateIds = stateIds;
+    }
+
+    /**
+     * Captures the chunk and the facing layers of its neighbours.
+     * Reads tolerate concurrent writers (see PalettedBlockStorage), a racing write just may or may not be included.
+     * @param chunk The center chunk.
+     * @param world Where to look neighbours up, null to treat all of them as missing.
+     */
+    public static PaddedChunkSnapshot create(ChunkData chunk, @Nullable WorldAccessor world) {
+        int[] stateIds = new int[PADDED_WIDTH * PADDED_HEIGHT * PADDED_DEPTH];
+        Arrays.fill(stateIds, Blocks.AIR.getDefaultState().getStateId());
+
+        int cx = chunk.getChunkX();
+        int cy = chunk.getChunkY();
+        int cz = chunk.getChunkZ();
+
+        // Center
+        PalettedBlockStorage blocks = chunk.getBlocksRaw();
+        for (int y = 0; y < CHUNK_HEIGHT; y++) {
+            for (int z = 0; z < CHUNK_DEPTH; z++) {
+                for (int x = 0; x < CHUNK_WIDTH; x++) {
+                    stateIds[getPaddedIndex(x, y, z)] = blocks.get(ChunkData.getIndex(x, y, z)).getStateId();
+                }
+            }
+        }
+
+        if (world == null) {
+            return new PaddedChunkSnapshot(cx, cy, cz, stateIds);
+        }
+
+        // Face neighbours, only the layer touching this chunk
+        ChunkData neighbor;
+        if ((neighbor = world.getChunk(cx - 1, cy, cz)) != null) copyLayerX(neighbor, CHUNK_WIDTH - 1, -1, stateIds);
+        if ((neighbor = world.getChunk(cx + 1, cy, cz)) != null) copyLayerX(neighbor, 0, CHUNK_WIDTH, stateIds);
+        if ((neighbor = world.getChunk(cx, cy - 1, cz)) != null) copyLayerY(neighbor, CHUNK_HEIGHT - 1, -1, stateIds);
+        if ((neighbor = world.getChunk(cx, cy + 1, cz)) != null) copyLayerY(neighbor, 0, CHUNK_HEIGHT, stateIds);
+        if ((neighbor = world.getChunk(cx, cy, cz - 1)) != null) copyLayerZ(neighbor, CHUNK_DEPTH - 1, -1, stateIds);
+        if ((neighbor = world.getChunk(cx, cy, cz + 1)) != null) copyLayerZ(neighbor, 0, CHUNK_DEPTH, stateIds);
+
+        return new PaddedChunkSnapshot(cx, cy, cz, stateIds);
+    }
+
+    private static void copyLayerX(ChunkData source, int sourceX, int targetX, int[] stateIds) {
+        PalettedBlockStorage blocks = source.getBlocksRaw();
+        for (int y = 0; y < CHUNK_HEIGHT; y++) {
+            for (int z = 0; z < CHUNK_DEPTH; z++) {
+                stateIds[getPaddedIndex(targetX, y, z)] = blocks.get(ChunkData.getIndex(sourceX, y, z)).getStateId();
+            }
+        }
+    }
+
+    private static void copyLayerY(ChunkData source, int sourceY, int targetY, int[] stateIds) {
+        PalettedBlockStorage blocks = source.getBlocksRaw();
+        for (int z = 0; z < CHUNK_DEPTH; z++) {
+            for (int x = 0; x < CHUNK_WIDTH; x++) {
+                stateIds[getPaddedIndex(x, targetY, z)] = blocks.get(ChunkData.getIndex(x, sourceY, z)).getStateId();
+            }
+        }
+    }
+
+    private static void copyLayerZ(ChunkData source, int sourceZ, int targetZ, int[] stateIds) {
+        PalettedBlockStorage blocks = source.getBlocksRaw();
+        for (int y = 0; y < CHUNK_HEIGHT; y++) {
+            for (int x = 0; x < CHUNK_WIDTH; x++) {
+                stateIds[getPaddedIndex(x, y, targetZ)] = blocks.get(ChunkData.getIndex(x, y, sourceZ)).getStateId();
+            }
+        }
+    }
+
+    /**
+     * Converts local coordinates (-1 to CHUNK_SIZE) into the padded array index, X varies fastest, then Z, then Y.
+     * Coordinates are NOT bounds checked.
+     */
+    public static int getPaddedIndex(int x, int y, int z) {
+        return ((y + 1) * PADDED_DEPTH + (z + 1)) * PADDED_WIDTH + (x + 1);
+    }
+
+    /**
+     * @param x Local X (-1 to CHUNK_WIDTH)
+     * @param y Local Y (-1 to CHUNK_HEIGHT)
+     * @param z Local Z (-1 to CHUNK_DEPTH)
+     */
+    public int getStateId(int x, int y, int z) {
+        return stateIds[getPaddedIndex(x, y, z)];
+    }
+
+    /**
+     * @param x Local X (-1 to CHUNK_WIDTH)
+     * @param y Local Y (-1 to CHUNK_HEIGHT)
+     * @param z Local Z (-1 to CHUNK_DEPTH)
+     */
+    public BlockInstance getBlock(int x, int y, int z) {
+        return BlockInstance.byStateId(stateIds[getPaddedIndex(x, y, z)]);
+    }
+
+    /**
+     * Direct access to the padded state IDs, indexed with getPaddedIndex. Must not be modified.
+     */
+    public int[] getStateIdsRaw() {
+        return stateIds;
+    }
+
+    public int getChunkX() { return chunkX; }
+    public int getChunkY() { return chunkY; }
+    public int getChunkZ() { return chunkZ; }
+}
@@ -0,0 +1,14 @@
+package com.chaotic_loom.game.world;
+
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Read access to the loaded chunks of a world, addressed by chunk grid coordinates.
+ */
+public interface WorldAccessor {
+    /**
+     * @return The loaded chunk at the given chunk coordinates, or null if it is not loaded.
+     */
+    @Nullable
+    ChunkData getChunk(int chunkX, int chunkY, int chunkZ);
+}
@@ -1,5 +1,6 @@
 package com.chaotic_loom.game.world.components;
 
+import com.chaotic_loom.game.core.Loggers;
 import com.chaotic_loom.game.registries.components.RegistryObject;
 
 import java.util.*;
@@ -7,12 +8,71 @@ import java.util.*;
 public class Block extends RegistryObject {
     private final Settings settings;
 
+    // Canonical states indexed by Direction.ordinal(), null for disallowed directions. Built on registration.
+    private BlockInstance[] states;
+    private BlockInstance defaultState;
+
     public Block(Settings settings) {
         this.settings = settings;
     }
 
+    @Override
+    public void onPopulate() {
+        super.onPopulate();
+
+        // Blocks get populated in internal ID order, so their states end up sorted by it too
+        Direction[] directions = Direction.values();
+        this.states = new BlockInstance[directions.length];
+
+        for (Direction direction : directions) {
+            if (settings.isDirectionAllowed(direction)) {
+                this.states[direction.ordinal()] = BlockInstance.createState(this, direction);
+            }
+        }
+
+        // NORTH if possible, the first allowed direction otherwise
+        this.defaultState = settings.isDirectionAllowed(Direction.NORTH) ?
+                this.states[Direction.NORTH.ordinal()] :
+                this.states[settings.getAllowedDirections().iterator().next().ordinal()];
+    }
+
+    /**
+     * @return The shared default state of this block.
+     */
+    public BlockInstance getDefaultState() {
+        if (defaultState == null) {
+            throw new IllegalStateException("Block states are not available until the block is registered");
+        }
+
+        return defaultState;
+    }
+
+    /**
+     * Gets the shared state facing the given direction.
+     * Disallowed directions fall back to the default state, null directions too.
+     */
+    public BlockInstance getState(Direction direction) {
+        BlockInstance defaultState = getDefaultState();
+
+        if (direction == null) {
+            return defaultState;
+        }
+
+        BlockInstance state = states[direction.ordinal()];
+        if (state == null) {
+            Loggers.OTHER.error("Warning: Tried to set block {} with disallowed direction {}. Defaulting to {}", getIdentifier(), direction, defaultState.getDirection());
+            return defaultState;
+        }
+
+        return state;
+    }
+
+    /**
+     * Kept for convenience, states are shared so this does not allocate.
+     * @return The default state of this block.
+     */
     public BlockInstance createInstance() {
-        return new BlockInstance(this, Direction.NORTH);
+        return getDefaultState();
     }
 
     public Settings getSettings() {
@@ -1,28 +1,61 @@
 package com.chaotic_loom.game.world.components;
 
-import com.chaotic_loom.game.core.Loggers;
-import com.chaotic_loom.game.registries.built_in.Blocks;
-
-import java.util.Objects;
+import java.util.Arrays;
 
+/**
+ * A block state: block type + direction.
+ * States are interned, every (Block, Direction) pair has exactly one canonical instance created when the
+ * block gets registered, so they can be compared by identity or by their compact state ID.
+ * Get them with Block.getDefaultState(), Block.getState(Direction) or BlockInstance.byStateId(int).
+ */
 public class BlockInstance {
+    // State ID -> canonical instance. Filled during registration, read-only afterwards.
+    private static BlockInstance[] stateTable = new BlockInstance[0];
+    private static int stateCount = 0;
+
     private final Block block;
     private final Block.Direction direction;
+    private final int stateId;
+
+    private BlockInstance(Block block, Block.Direction direction, int stateId) {
+        this.block = block;
+        this.direction = direction;
+        this.stateId = stateId;
+    }
+
+    /**
+     * Creates and registers the canonical state for a block and direction.
+     * State IDs are handed out sequentially while blocks get populated, so they follow the order of
+     * RegistryObject.internalMappedRegistryID and stay dense (no gaps for other registry types).
+     */
+    static BlockInstance createState(Block block, Block.Direction direction) {
+        if (stateCount == stateTable.length) {
+            stateTable = Arrays.copyOf(stateTable, Math.max(16, stateTable.length * 2));
+        }
+
+        BlockInstance state = new BlockInstance(block, direction, stateCount);
+        stateTable[stateCount] = state;
+        stateCount++;
+
+        return state;
+    }
 
-    public BlockInstance(Block block, Block.Direction direction) {
-        // Basic validation: Ensure the chosen direction is allowed for this block type
-        if (block != null && direction != null && !block.getSettings().isDirectionAllowed(direction)) {
-            // Default to the first allowed direction or North if validation fails
-            this.direction = block.getSettings().getAllowedDirections().isEmpty() ?
-                    Block.Direction.NORTH :
-                    block.getSettings().getAllowedDirections().iterator().next();
-
-            Loggers.OTHER.error("Warning: Tried to set block {} with disallowed direction {}. Defaulting to {}", block.getIdentifier(), direction, this.direction);
-        } else {
-            this.direction = direction != null ? direction : Block.Direction.NORTH; // Default null directions
+    /**
+     * @return The canonical state with the given ID, or null if the ID is unknown.
+     */
+    public static BlockInstance byStateId(int stateId) {
+        if (stateId < 0 || stateId >= stateCount) {
+            return null;
         }
 
-        this.block = block != null ? block : Blocks.AIR; // Default null blocks to Air
+        return stateTable[stateId];
+    }
+
+    /**
+     * @return The amount of registered states, valid state IDs are [0, getStateCount()).
+     */
+    public static int getStateCount() {
+        return stateCount;
     }
 
     public Block getBlock() {
@@ -33,12 +66,18 @@ public class BlockInstance {
         return direction;
     }
 
+    public int getStateId() {
+        return stateId;
+    }
+
     @Override
     public boolean equals(Object o) {
-        if (this == o) return true;
-        if (o == null || getClass() != o.getClass()) return false;
-        BlockInstance that = (BlockInstance) o;
-        return Objects.equals(block, that.block) && direction == that.direction;
+        return this == o; // States are interned
+    }
+
+    @Override
+    public int hashCode() {
+        return stateId;
     }
 
     @Override
@@ -46,6 +85,7 @@ public class BlockInstance {
         return "BlockInstance{" +
                 "block=" + (block != null ? block.getIdentifier() : "null") +
                 ", direction=" + direction +
+                ", stateId=" + stateId +
                 '}';
     }
 }
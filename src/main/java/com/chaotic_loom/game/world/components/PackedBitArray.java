@@ -0,0 +1,78 @@
+package com.chaotic_loom.game.world.components;
+
+/**
+ * Fixed-size array of small unsigned integers packed into longs.
+ * Entries never straddle two longs, so reads and writes are a single shift and mask.
+ */
+public class PackedBitArray {
+    private final long[] data;
+    private final int bits;
+    private final int size;
+    private final int valuesPerLong;
+    private final long mask;
+
+    /**
+     * @param bits Bits per entry (1 to 32).
+     * @param size Amount of entries.
+     */
+    public PackedBitArray(int bits, int size) {
+        this(bits, size, new long[getLongCount(bits, size)]);
+    }
+
+    /**
+     * Wraps already packed data, used when restoring storages without re-packing every entry.
+     */
+    public PackedBitArray(int bits, int size, long[] data) {
+        if (bits < 1 || bits > 32) {
+            throw new IllegalArgumentException("Bits per entry must be between 1 and 32, found: " + bits);
+        }
+
+        if (data.length != getLongCount(bits, size)) {
+            throw new IllegalArgumentException("Invalid packed data length " + data.length + " for " + size + " entries of " + bits + " bits");
+        }
+
+        this.bits = bits;
+        this.size = size;
+        this.valuesPerLong = 64 / bits;
+        this.mask = (1L << bits) - 1L;
+        this.data = data;
+    }
+
+    public static int getLongCount(int bits, int size) {
+        int valuesPerLong = 64 / bits;
+        return (size + valuesPerLong - 1) / valuesPerLong;
+    }
+
+    public int get(int index) {
+        long word = data[index / valuesPerLong];
+        int shift = (index % valuesPerLong) * bits;
+
+        return (int) ((word >>> shift) & mask);
+    }
+
+    public void set(int index, int value) {
+        int wordIndex = index / valuesPerLong;
+        int shift = (index % valuesPerLong) * bits;
+
+        data[wordIndex] = (data[wordIndex] & ~(mask << shift)) | (((long) value & mask) << shift);
+    }
+
+    public int getBits() {
+        return bits;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Direct access to the packed words, intended for serialization.
+     */
+    public long[] getRaw() {
+        return data;
+    }
+
+    public PackedBitArray copy() {
+        return new PackedBitArray(bits, size, data.clone());
+    }
+}
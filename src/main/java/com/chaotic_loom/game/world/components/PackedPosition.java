@@ -0,0 +1,29 @@
+package com.chaotic_loom.game.world.components;
+
+/**
+ * Packs three signed 21 bit coordinates (+-1048575) into a single long: x in the high bits, then y, then z.
+ * The one layout shared by chunk keys (ChunkData.getPositionKey) and block positions on the wire
+ * (PacketBuffer.writeBlockPosition), coordinates outside the range wrap.
+ */
+public final class PackedPosition {
+    private PackedPosition() {} // Static class
+
+    public static final int BITS = 21;
+    private static final long MASK = (1L << BITS) - 1L;
+
+    public static long pack(int x, int y, int z) {
+        return (x & MASK) << (BITS * 2) | (y & MASK) << BITS | (z & MASK);
+    }
+
+    public static int unpackX(long packed) {
+        return (int) (packed << (64 - BITS * 3) >> (64 - BITS)); // Shift left then back, sign extends
+    }
+
+    public static int unpackY(long packed) {
+        return (int) (packed << (64 - BITS * 2) >> (64 - BITS));
+    }
+
+    public static int unpackZ(long packed) {
+        return (int) (packed << (64 - BITS) >> (64 - BITS));
+    }
+}
@@ -0,0 +1,232 @@
+package com.chaotic_loom.game.world.components;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Compact block storage: a palette of the distinct block states present plus packed indices into it.
+ * A chunk with a single state uses 0 bits per block and no index array at all, the index width then
+ * widens through 1, 2, 4, 8 and 16 bits as the palette grows.
+ *
+ * Writers must be externally synchronized. The palette only grows by appending, every change publishes a new
+ * array before any index referencing the new entry, and fill never shrinks it, so a racing reader never indexes
+ * outside of it nor sees an empty entry.
+ */
+public class PalettedBlockStorage {
+    // Palettes up to this size are searched linearly, bigger ones use a hash lookup
+    private static final int LINEAR_LOOKUP_LIMIT = 16;
+
+    private final int size;
+
+    private volatile BlockInstance[] palette;
+    private int paletteSize;
+    private Map<BlockInstance, Integer> paletteLookup = null;
+
+    private volatile PackedBitArray indices; // Null while bits == 0
+    private int bits;
+
+    /**
+     * Creates a storage where every entry holds the given state.
+     * @param size Amount of blocks stored.
+     * @param initialState The state every entry starts with.
+     */
+    public PalettedBlockStorage(int size, BlockInstance initialState) {
+        this.size = size;
+        this.palette = new BlockInstance[] { initialState };
+        this.paletteSize = 1;
+        this.bits = 0;
+        this.indices = null;
+    }
+
+    private PalettedBlockStorage(int size, BlockInstance[] palette, int paletteSize, PackedBitArray indices) {
+        this.size = size;
+        this.palette = palette;
+        this.paletteSize = paletteSize;
+        this.indices = indices;
+        this.bits = indices == null ? 0 : indices.getBits();
+
+        if (paletteSize > LINEAR_LOOKUP_LIMIT) {
+            rebuildLookup();
+        }
+    }
+
+    /**
+     * Restores a storage from its palette and packed indices (e.g. decoded chunks), nothing is re-packed.
+     * @param palette The palette, owned by the storage from now on.
+     * @param indices Packed palette indices, null if the palette has a single entry.
+     * @throws IllegalArgumentException if the indices don't match the size or can't address the palette.
+     */
+    public static PalettedBlockStorage of(int size, BlockInstance[] palette, PackedBitArray indices) {
+        if (palette.length == 0) {
+            throw new IllegalArgumentException("The palette must have at least one entry");
+        }
+
+        if (indices == null) {
+            if (palette.length != 1) {
+                throw new IllegalArgumentException("A palette of " + palette.length + " entries needs indices");
+            }
+        } else if (indices.getSize() != size || indices.getBits() < getBitsForPaletteSize(palette.length) || indices.getBits() > 16 || Integer.bitCount(indices.getBits()) != 1) {
+            throw new IllegalArgumentException("Indices of " + indices.getBits() + " bits can't address " + size + " blocks of a " + palette.length + " entries palette");
+        }
+
+        return new PalettedBlockStorage(size, palette, palette.length, indices);
+    }
+
+    public BlockInstance get(int index) {
+        PackedBitArray currentIndices = this.indices; // Read indices first, see class docs
+        BlockInstance[] currentPalette = this.palette;
+
+        if (currentIndices == null) {
+            return currentPalette[0];
+        }
+
+        return currentPalette[currentIndices.get(index)];
+    }
+
+    public void set(int index, BlockInstance state) {
+        int paletteIndex = getOrAddPaletteIndex(state);
+
+        if (indices == null) {
+            return; // Still uniform, the only palette entry is the one being set
+        }
+
+        indices.set(index, paletteIndex);
+    }
+
+    /**
+     * Fills every entry with the given state, dropping the current palette.
+     */
+    public void fill(BlockInstance state) {
+        // A racing reader may still pair the old indices with the new palette, so every slot an old index
+        // can address holds the new state, and the indices are dropped before the palette is replaced
+        BlockInstance[] newPalette = new BlockInstance[palette.length];
+        Arrays.fill(newPalette, state);
+
+        this.indices = null;
+        this.bits = 0;
+        this.palette = newPalette;
+        this.paletteSize = 1;
+        this.paletteLookup = null;
+    }
+
+    private int getOrAddPaletteIndex(BlockInstance state) {
+        int found = indexOf(state);
+        if (found != -1) {
+            return found;
+        }
+
+        int newIndex = paletteSize;
+
+        // Always a copy: storing into the published array would let a reader see the new index before the entry
+        BlockInstance[] newPalette = Arrays.copyOf(palette, newIndex < palette.length ? palette.length : palette.length * 2);
+        newPalette[newIndex] = state;
+        this.palette = newPalette; // Publish before any index can point at the new entry
+        paletteSize++;
+
+        if (paletteLookup != null) {
+            paletteLookup.put(state, newIndex);
+        } else if (paletteSize > LINEAR_LOOKUP_LIMIT) {
+            rebuildLookup();
+        }
+
+        // Widen the indices if the palette no longer fits
+        if (paletteSize > (1 << bits)) {
+            resize(getBitsForPaletteSize(paletteSize));
+        }
+
+        return newIndex;
+    }
+
+    private int indexOf(BlockInstance state) {
+        if (paletteLookup != null) {
+            Integer index = paletteLookup.get(state);
+            return index == null ? -1 : index;
+        }
+
+        BlockInstance[] currentPalette = this.palette;
+        for (int i = 0; i < paletteSize; i++) {
+            if (currentPalette[i] == state) { // States are interned
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    private void rebuildLookup() {
+        paletteLookup = new HashMap<>();
+        for (int i = 0; i < paletteSize; i++) {
+            paletteLookup.put(palette[i], i);
+        }
+    }
+
+    private void resize(int newBits) {
+        PackedBitArray oldIndices = this.indices;
+        PackedBitArray newIndices = new PackedBitArray(newBits, size);
+
+        if (oldIndices != null) {
+            for (int i = 0; i < size; i++) {
+                newIndices.set(i, oldIndices.get(i));
+            }
+        }
+
+        this.bits = newBits;
+        this.indices = newIndices;
+    }
+
+    /**
+     * Gets the smallest supported index width able to address the given palette size.
+     * Widths are powers of two so entries never straddle two longs.
+     */
+    public static int getBitsForPaletteSize(int paletteSize) {
+        if (paletteSize <= 1) return 0;
+        if (paletteSize <= 2) return 1;
+        if (paletteSize <= 4) return 2;
+        if (paletteSize <= 16) return 4;
+        if (paletteSize <= 256) return 8;
+        return 16;
+    }
+
+    // --- Getters ---
+
+    public int getSize() {
+        return size;
+    }
+
+    public int getBits() {
+        return bits;
+    }
+
+    public int getPaletteSize() {
+        return paletteSize;
+    }
+
+    public BlockInstance getPaletteEntry(int paletteIndex) {
+        return palette[paletteIndex];
+    }
+
+    /**
+     * @return The packed palette indices, or null when the storage is uniform (0 bits).
+     */
+    public PackedBitArray getIndices() {
+        return indices;
+    }
+
+    public boolean isUniform() {
+        return bits == 0;
+    }
+
+    /**
+     * Deep copy, cheap compared to copying per block since only the palette and the packed longs are cloned.
+     */
+    public PalettedBlockStorage copy() {
+        PackedBitArray currentIndices = this.indices;
+        return new PalettedBlockStorage(
+                size,
+                Arrays.copyOf(palette, paletteSize),
+                paletteSize,
+                currentIndices == null ? null : currentIndices.copy()
+        );
+    }
+}
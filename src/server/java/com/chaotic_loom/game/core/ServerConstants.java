@@ -2,4 +2,17 @@ package com.chaotic_loom.game.core;
 
 public abstract class ServerConstants {
     public static final int TARGET_UPS = 20;
+    public static final int MAX_CATCH_UP_TICKS = TARGET_UPS / 2; // Ticks run back to back when behind, further behind they get skipped
+
+    public static final int MAX_CHUNK_LOADS_PER_TICK = 64; // Loads requested per tick, the rest of the view areas follow in the next ticks
+    public static final int MAX_PENDING_CHUNK_LOADS = 1024; // Bounds the work queued on the chunk sources
+    public static final int CHUNK_UNLOAD_TIMEOUT_TICKS = 30 * TARGET_UPS; // Chunks nobody needed for this long get unloaded
+    public static final int CHUNK_UNLOAD_CHECK_INTERVAL_TICKS = TARGET_UPS; // How often loaded chunks are checked for unloading
+
+    public static final int AUTOSAVE_INTERVAL_TICKS = 60 * TARGET_UPS; // Changed chunks get saved this often
+    public static final int MAX_CHUNK_SNAPSHOTS_PER_TICK = 128; // Spreads autosaves over several ticks
+    public static final int DEFAULT_FSYNC_INTERVAL_SECONDS = 5; // Saved chunks are forced to disk at most this often (-world-fsync-interval)
+
+    public static final long DEFAULT_WORLD_SEED = 0; // -world-seed
+    public static final int DEFAULT_WORLD_GEN_THREADS = Math.max(1, Runtime.getRuntime().availableProcessors() - 1); // -world-gen-threads, one core left for the server thread
 }
@@ -1,24 +1,66 @@
 package com.chaotic_loom.game.core;
 
 import com.chaotic_loom.game.networking.NettyServerHelper;
+import com.chaotic_loom.game.networking.components.NetworkOptions;
 import com.chaotic_loom.game.networking.packets.LoginPacket;
 import com.chaotic_loom.game.registries.built_in.Packets;
+import com.chaotic_loom.game.world.ServerWorld;
+import com.chaotic_loom.game.world.generation.ChunkGenerationPool;
+import com.chaotic_loom.game.world.generation.NoiseChunkGenerator;
+import com.chaotic_loom.game.world.storage.RegionStorage;
 import io.netty.channel.Channel;
 
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
 public class ServerEngine extends AbstractEngine {
     private final ServerTimer timer;
+    private final TickScheduler scheduler;
+    private final CountDownLatch cleanedUp = new CountDownLatch(1);
+    private ChunkGenerationPool<?> generationPool;
+    private RegionStorage regionStorage;
+    private ServerWorld world;
 
     public ServerEngine() {
         super(Environment.SERVER);
 
         this.timer = new ServerTimer();
+        this.scheduler = new TickScheduler(ServerConstants.TARGET_UPS, ServerConstants.MAX_CATCH_UP_TICKS);
     }
 
     @Override
-    protected void init() {
+    protected void init() throws Exception {
         timer.init();
 
-        Channel serverChannel = NettyServerHelper.init();
+        // Ctrl+C or a kill: stop ticking and wait for the world to be saved before the JVM exits
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            shutdown();
+
+            try {
+                if (!cleanedUp.await(30, TimeUnit.SECONDS)) {
+                    getLogger().warn("Server cleanup did not finish in time");
+                }
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            }
+        }, "ServerShutdown"));
+
+        // Needs the run path, only known once the engine runs
+        long fsyncIntervalMillis = TimeUnit.SECONDS.toMillis(getArgsManager().getInt("world-fsync-interval", ServerConstants.DEFAULT_FSYNC_INTERVAL_SECONDS));
+        long seed = getArgsManager().getLong("world-seed", ServerConstants.DEFAULT_WORLD_SEED);
+        int generationThreads = getArgsManager().getInt("world-gen-threads", ServerConstants.DEFAULT_WORLD_GEN_THREADS);
+        this.generationPool = new ChunkGenerationPool<>(new NoiseChunkGenerator(seed), generationThreads);
+        getLogger().info("Generating the world with seed {} on {} threads.", seed, generationThreads);
+
+        // Chunks never saved get generated
+        this.regionStorage = new RegionStorage(getRunPath().resolve("world").resolve("regions"), generationPool, fsyncIntervalMillis);
+        this.world = new ServerWorld(regionStorage, regionStorage::saveAsync);
+
+        NetworkOptions networkOptions = NetworkOptions.fromArgs(getArgsManager());
+        getNetworkingManager().setNetworkOptions(networkOptions);
+
+        Channel serverChannel = NettyServerHelper.init(networkOptions);
         getNetworkingManager().setChannel(serverChannel);
 
         getLogger().info("Server Engine Initialized.");
@@ -28,86 +70,56 @@ public class ServerEngine extends AbstractEngine {
     protected void gameLoop() {
         getLogger().info("Starting server game loop...");
 
-        final float interval = 1f / ServerConstants.TARGET_UPS; // Fixed time step interval
+        scheduler
+                // Handle the packets queued by the network threads, world state is only touched from this thread
+                .addPhase("network_in", getNetworkingManager()::processIncomingPackets)
+                // Load, unload and save chunks around the players
+                .addPhase("world", () -> world.tick(getNetworkingManager().getUserConnections()))
+                // Everything sent during the tick leaves now, one flush per connection
+                .addPhase("network_out", getNetworkingManager()::flushPendingWrites)
+                .addPhase("timer", timer::logicUpdated);
 
-        while (true) { // TODO: Implement proper shutdown condition
-            // Get time delta - needed to advance accumulator
-            // Also processes UPS counter updates internally now
-            timer.getElapsedTime(); // From ServerTimer
+        scheduler.run(); // Until shutdown() is called
 
-            // Process network messages asynchronously or polled here
-            // networkManager.processIncomingMessages();
+        getLogger().info("Server game loop stopped after {} ticks ({} skipped).", scheduler.getTickCount(), scheduler.getSkippedTicks());
+    }
 
-            // Fixed timestep update loop for server logic
-            // Use the getAccumulatedTime/subtractAccumulatedTime specific to ServerTimer
-            while (timer.getAccumulatedTime() >= interval) {
-                // Update server-specific game state using fixed interval
-                updateServer(interval);
+    /**
+     * Stops the game loop after the current tick, the engine then cleans up. Safe to call from any thread.
+     */
+    public void shutdown() {
+        scheduler.stop();
+    }
 
-                timer.logicUpdated(); // Increment UPS counter
-                // Subtract time *after* update
-                timer.subtractAccumulatedTime(interval);
-            }
+    @Override
+    protected void cleanup() {
+        try {
+            getLogger().info("Cleaning up server engine...");
 
-            // Sleep/Yield logic to avoid 100% CPU usage
-            // Calculate how long until the next *potential* tick start time
-            // This is tricky because updates might take variable time.
-            // A simpler approach is to just sleep for a small fixed duration if no updates ran.
-            // Or calculate sleep based on when the *next* tick should ideally start.
+            getNetworkingManager().cleanup();
 
-            double nextTickStartTime = calculateNextTickStartTime(interval);
-            double timeToWait = nextTickStartTime - timer.getTime(); // Using ServerTimer's getTime()
+            if (regionStorage != null) {
+                world.saveAll();
 
-            if (timeToWait > 0) {
                 try {
-                    // Sleep for slightly less to account for scheduling delays
-                    long sleepMillis = Math.max(1, (long)((timeToWait - 0.001) * 1000));
-                    Thread.sleep(sleepMillis);
-                } catch (InterruptedException e) { Thread.currentThread().interrupt(); break; }
-            } else if (timeToWait < -interval * 5) {
-                // Lag detection: If we're severely behind, log it and maybe reset timer?
-                getLogger().warn("Server can't keep up! Running behind schedule.");
-                // Consider resetting accumulated time or just letting it catch up.
-            } else {
-                // If we are slightly behind or right on time, yield briefly
-                Thread.yield();
+                    regionStorage.close();
+                } catch (IOException exception) {
+                    getLogger().error("Could not close the region files", exception);
+                }
             }
-        }
-    }
-
-    // Helper to estimate when the next tick *should* start
-    private double lastTickTime = 0; // Track when the last tick *processing* finished or started
-    private double calculateNextTickStartTime(float interval) {
-        if (lastTickTime == 0) lastTickTime = timer.getTime(); // Initialize on first call
-        // Ideal next start time based on fixed interval
-        // This assumes the loop starts roughly aligned with ticks initially
-        // A more robust method might track total ticks elapsed.
-        // Simple version: assume next tick should start 'interval' after the last one ideally started.
-        // This needs refinement based on exact loop needs.
-        // Let's just return a time slightly in the future to ensure sleep.
-        return timer.getTime() + (interval / 4.0); // Simple yield/sleep strategy control
-    }
-
-
-    // Server-specific update logic
-    private void updateServer(float interval) {
-        // Update world state based on player inputs, AI, physics simulation
-        // worldManager.update(interval);
-        // Process player actions received over network
 
-        // System.out.println("Server Tick Update: " + interval);
+            if (generationPool != null) {
+                generationPool.close();
+            }
 
-        // Broadcast world state updates to clients (might be done less frequently)
-        // networkManager.broadcastGameState(worldManager.getCurrentState());
+            getLogger().info("Server Engine Cleaned Up.");
+        } finally {
+            cleanedUp.countDown(); // Releases the shutdown hook
+        }
     }
 
-    @Override
-    protected void cleanup() {
-        getLogger().info("Cleaning up server engine...");
-
-        getNetworkingManager().cleanup();
-
-        getLogger().info("Server Engine Cleaned Up.");
+    public ServerWorld getWorld() {
+        return world;
     }
 
     @Override
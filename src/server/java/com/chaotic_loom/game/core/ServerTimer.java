@@ -1,17 +1,20 @@
 package com.chaotic_loom.game.core;
 
+/**
+ * Server clock and UPS counter. Tick timing itself lives in TickScheduler.
+ */
 public class ServerTimer implements Timer {
     private double lastLoopTime;
-    private double accumulatedTime;
-    private int upsCount;
+    private int upsCount; // Ticks in the current second
+    private int ups; // Ticks in the last full second
     private double lastUpsTime;
 
     @Override
     public void init() {
         lastLoopTime = getTime();
         lastUpsTime = getTime();
-        accumulatedTime = 0;
         upsCount = 0;
+        ups = 0;
     }
 
     public double getTime() {
@@ -24,37 +27,24 @@ public class ServerTimer implements Timer {
         float elapsedTime = (float) (currentTime - lastLoopTime);
         lastLoopTime = currentTime;
 
-        // Server accumulates time for its fixed update loop
-        accumulatedTime += elapsedTime;
-
-        // Update UPS counter display each second (called by logicUpdated)
-        updateUPSCounter();
-
         return elapsedTime;
     }
 
-    // Called externally by ServerEngine after a logic update
+    // Called by the server tick after every logic update
     public void logicUpdated() {
         upsCount++;
-    }
 
-    private void updateUPSCounter() {
-        // Check only when logic is updated
         if (getTime() - lastUpsTime >= 1.0) {
+            ups = upsCount;
             upsCount = 0;
             lastUpsTime += 1.0;
         }
     }
 
-    public double getAccumulatedTime() {
-        return accumulatedTime;
-    }
-
-    public void subtractAccumulatedTime(double interval) {
-        accumulatedTime = Math.max(0, accumulatedTime - interval);
-    }
-
+    /**
+     * @return Ticks run during the last full second.
+     */
     public int getUpsCount() {
-        return upsCount;
+        return ups;
     }
-}
\ No newline at end of file
+}
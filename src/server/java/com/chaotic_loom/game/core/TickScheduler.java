@@ -0,0 +1,171 @@
+package com.chaotic_loom.game.core;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Fixed timestep loop: runs the registered phases, in order, once per tick at a fixed rate.
+ *
+ * Tick N is due at start + N * interval, deadlines are absolute so the error of one sleep never carries over
+ * to the next ticks. Between ticks the thread parks until shortly before the deadline and spins the rest,
+ * parking alone oversleeps by up to a millisecond or more depending on the OS.
+ * A late loop runs the missed ticks back to back, up to maxCatchUpTicks, further behind they are skipped.
+ *
+ * run() executes the loop on the calling thread until stop() is called from any thread, a stopped scheduler
+ * doesn't run again.
+ */
+public class TickScheduler {
+    private static final long SPIN_THRESHOLD_NANOS = TimeUnit.MICROSECONDS.toNanos(1500); // Park until this close to the deadline, then spin
+
+    private final long intervalNanos;
+    private final int maxCatchUpTicks;
+    private final List<Phase> phases = new ArrayList<>();
+
+    private volatile boolean stopRequested = false;
+    private volatile Thread thread; // Running the loop, null when not running
+    private long tickCount = 0;
+    private long skippedTicks = 0;
+    private long lastTickNanos = 0;
+
+    private record Phase(String name, Runnable task) {}
+
+    /**
+     * @param ticksPerSecond Tick rate.
+     * @param maxCatchUpTicks Max amount of late ticks run back to back before the rest get skipped.
+     */
+    public TickScheduler(int ticksPerSecond, int maxCatchUpTicks) {
+        if (ticksPerSecond <= 0) {
+            throw new IllegalArgumentException("The tick rate must be positive, got: " + ticksPerSecond);
+        }
+
+        this.intervalNanos = TimeUnit.SECONDS.toNanos(1) / ticksPerSecond;
+        this.maxCatchUpTicks = Math.max(1, maxCatchUpTicks);
+    }
+
+    /**
+     * Adds a phase run every tick, after the phases added before it. Must be called before run().
+     * @param name Shown when the tick runs late.
+     */
+    public TickScheduler addPhase(String name, Runnable task) {
+        if (thread != null) {
+            throw new IllegalStateException("Phases can't be added while the scheduler runs");
+        }
+
+        phases.add(new Phase(name, task));
+        return this;
+    }
+
+    /**
+     * Runs ticks on the calling thread until stop() is called. Exceptions thrown by a phase stop the loop.
+     */
+    public void run() {
+        thread = Thread.currentThread();
+
+        long[] phaseNanos = new long[phases.size()];
+        long nextTickNanos = System.nanoTime();
+
+        try {
+            while (!stopRequested) {
+                long now = System.nanoTime();
+                long behindNanos = now - nextTickNanos;
+
+                if (behindNanos < 0) {
+                    sleepUntil(nextTickNanos);
+                    continue;
+                }
+
+                long behindTicks = behindNanos / intervalNanos;
+                if (behindTicks >= maxCatchUpTicks) {
+                    Loggers.SERVER.warn("Can't keep up! Running {} ms behind, skipping {} ticks.", TimeUnit.NANOSECONDS.toMillis(behindNanos), behindTicks);
+                    skippedTicks += behindTicks;
+                    nextTickNanos += behindTicks * intervalNanos;
+                }
+
+                runTick(phaseNanos);
+                nextTickNanos += intervalNanos;
+            }
+        } finally {
+            thread = null;
+        }
+    }
+
+    private void runTick(long[] phaseNanos) {
+        long tickStart = System.nanoTime();
+        long phaseStart = tickStart;
+
+        for (int i = 0; i < phases.size(); i++) {
+            phases.get(i).task().run();
+
+            long phaseEnd = System.nanoTime();
+            phaseNanos[i] = phaseEnd - phaseStart;
+            phaseStart = phaseEnd;
+        }
+
+        lastTickNanos = phaseStart - tickStart;
+        tickCount++;
+
+        if (lastTickNanos > intervalNanos && Loggers.SERVER.isDebugEnabled()) {
+            StringBuilder breakdown = new StringBuilder();
+            for (int i = 0; i < phases.size(); i++) {
+                if (i > 0) breakdown.append(", ");
+                breakdown.append(phases.get(i).name()).append(' ').append(TimeUnit.NANOSECONDS.toMicros(phaseNanos[i]) / 1000.0).append(" ms");
+            }
+
+            Loggers.SERVER.debug("Tick {} took {} ms ({})", tickCount, TimeUnit.NANOSECONDS.toMicros(lastTickNanos) / 1000.0, breakdown);
+        }
+    }
+
+    /**
+     * Parks until the spin threshold, then spins until the deadline. Returns early if stopped.
+     */
+    private void sleepUntil(long deadlineNanos) {
+        long remaining;
+        while (!stopRequested && (remaining = deadlineNanos - System.nanoTime()) > SPIN_THRESHOLD_NANOS) {
+            LockSupport.parkNanos(this, remaining - SPIN_THRESHOLD_NANOS);
+        }
+
+        while (!stopRequested && deadlineNanos - System.nanoTime() > 0) {
+            Thread.onSpinWait();
+        }
+    }
+
+    /**
+     * Makes run() return once the current tick, if any, finishes.
+     */
+    public void stop() {
+        stopRequested = true;
+
+        Thread loopThread = thread;
+        if (loopThread != null) {
+            LockSupport.unpark(loopThread);
+        }
+    }
+
+    public boolean isRunning() {
+        return thread != null;
+    }
+
+    /**
+     * @return Amount of ticks run so far, skipped ones not included.
+     */
+    public long getTickCount() {
+        return tickCount;
+    }
+
+    public long getSkippedTicks() {
+        return skippedTicks;
+    }
+
+    /**
+     * @return How long the last tick took to run, in nanoseconds.
+     */
+    public long getLastTickNanos() {
+        return lastTickNanos;
+    }
+
+    public long getIntervalNanos() {
+        return intervalNanos;
+    }
+}
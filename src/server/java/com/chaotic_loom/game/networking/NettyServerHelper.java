@@ -1,10 +1,11 @@
 package com.chaotic_loom.game.networking;
 
+import com.chaotic_loom.game.core.Loggers;
+import com.chaotic_loom.game.networking.components.NettyTransport;
+import com.chaotic_loom.game.networking.components.NetworkOptions;
 import io.netty.bootstrap.ServerBootstrap;
 import io.netty.channel.*;
-import io.netty.channel.nio.NioEventLoopGroup;
 import io.netty.channel.socket.SocketChannel;
-import io.netty.channel.socket.nio.NioServerSocketChannel;
 import io.netty.handler.codec.LengthFieldBasedFrameDecoder;
 import io.netty.handler.timeout.IdleStateHandler;
 
@@ -13,10 +14,13 @@ import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
 
 public class NettyServerHelper {
-    public static Channel init() {
+    public static Channel init(NetworkOptions options) {
         int port = 8080;
-        EventLoopGroup bossGroup = new NioEventLoopGroup();
-        EventLoopGroup workerGroup = new NioEventLoopGroup();
+        NettyTransport transport = options.selectTransport();
+        EventLoopGroup bossGroup = transport.createEventLoopGroup(options.bossThreads());
+        EventLoopGroup workerGroup = transport.createEventLoopGroup(options.workerThreads());
+
+        Loggers.NETWORKING.info("Using the {} transport", transport);
 
         AtomicReference<Channel> channel = new AtomicReference<>();
         AtomicBoolean failed = new AtomicBoolean(false);
@@ -26,17 +30,19 @@ public class NettyServerHelper {
             try {
                 ServerBootstrap bootstrap = new ServerBootstrap();
                 bootstrap.group(bossGroup, workerGroup)
-                        .channel(NioServerSocketChannel.class)
+                        .channel(transport.getServerChannelClass())
                         .childHandler(new ChannelInitializer<SocketChannel>() {
                             @Override
                             protected void initChannel(SocketChannel ch) throws Exception {
                                 ChannelPipeline pipeline = ch.pipeline();
 
                                 pipeline.addLast(new IdleStateHandler(NetworkingManager.READER_IDLE_TIMEOUT_SECONDS, 0, 0, TimeUnit.SECONDS));
-                                pipeline.addLast(new LengthFieldBasedFrameDecoder(NetworkingManager.MAX_FRAME_LENGTH, NetworkingManager.LENGTH_FIELD_OFFSET, NetworkingManager.LENGTH_FIELD_LENGTH, NetworkingManager.LENGTH_ADJUSTMENT, NetworkingManager.INITIAL_BYTES_TO_STRIP));
+                                pipeline.addLast(NetworkingManager.FRAME_DECODER, new LengthFieldBasedFrameDecoder(options.maxFrameLength(), NetworkingManager.LENGTH_FIELD_OFFSET, NetworkingManager.LENGTH_FIELD_LENGTH, NetworkingManager.LENGTH_ADJUSTMENT, NetworkingManager.INITIAL_BYTES_TO_STRIP));
+                                pipeline.addLast(NetworkingManager.PACKET_DECODER, new PacketDecoder());
                                 pipeline.addLast(new ServerPacketChannelHandler());
                             }
                         });
+                options.applyTo(bootstrap);
 
                 // Bind to localhost on the selected port
                 ChannelFuture future = bootstrap.bind("localhost", port).sync();
@@ -10,7 +10,9 @@ import java.net.SocketAddress;
 
 public class ServerPacketChannelHandler extends PacketChannelHandler {
     @Override
-    public void channelActive(ChannelHandlerContext ctx) {
+    public void channelActive(ChannelHandlerContext ctx) throws Exception {
+        super.channelActive(ctx);
+
         Loggers.NETWORKING.info("Client connected: {}", ctx.channel().remoteAddress());
     }
 
@@ -0,0 +1,15 @@
+package com.chaotic_loom.game.world;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Where ServerWorld gets the chunks it loads from. Loads are asynchronous so disk and generation work never
+ * runs on the server thread.
+ */
+@FunctionalInterface
+public interface ChunkSource {
+    /**
+     * @return The chunk at the given chunk coordinates, completed with a non null chunk or exceptionally.
+     */
+    CompletableFuture<ChunkData> load(int chunkX, int chunkY, int chunkZ);
+}
@@ -0,0 +1,27 @@
+package com.chaotic_loom.game.world;
+
+/**
+ * Server side chunk: block data plus its lifecycle state, see ServerWorld.
+ * Only meant to be used from the server thread.
+ */
+public class ServerChunk {
+    private final ChunkData chunkData;
+    private long lastNeededTick; // Last tick a viewer was in range or the chunk was accessed
+
+    public ServerChunk(ChunkData chunkData, long currentTick) {
+        this.chunkData = chunkData;
+        this.lastNeededTick = currentTick;
+    }
+
+    public void markNeeded(long currentTick) {
+        this.lastNeededTick = currentTick;
+    }
+
+    public long getLastNeededTick() {
+        return lastNeededTick;
+    }
+
+    public ChunkData getChunkData() {
+        return chunkData;
+    }
+}
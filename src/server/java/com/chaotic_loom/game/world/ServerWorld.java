@@ -0,0 +1,232 @@
+package com.chaotic_loom.game.world;
+
+import com.chaotic_loom.game.core.Loggers;
+import com.chaotic_loom.game.core.ServerConstants;
+import com.chaotic_loom.game.networking.components.Connection;
+import com.chaotic_loom.game.registries.built_in.Blocks;
+import com.chaotic_loom.game.world.components.BlockInstance;
+import io.netty.util.collection.LongObjectHashMap;
+import io.netty.util.collection.LongObjectMap;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
+
+import static com.chaotic_loom.game.core.util.SharedConstants.*;
+
+/**
+ * The chunks loaded on the server.
+ *
+ * Chunks are kept in a primitive long keyed map (ChunkData.getPositionKey), lookups neither box nor allocate.
+ * Every tick the view area of each logged in connection is marked as needed and its missing chunks are requested
+ * from the ChunkSource (bounded by MAX_CHUNK_LOADS_PER_TICK and MAX_PENDING_CHUNK_LOADS). Loads complete in the
+ * background and are added on a later tick, so disk and generation never stall the server thread.
+ * Chunks nobody needed for CHUNK_UNLOAD_TIMEOUT_TICKS are unloaded.
+ *
+ * Changed chunks are handed to the chunk saver as snapshots: when unloaded, and every AUTOSAVE_INTERVAL_TICKS,
+ * spread over the next ticks by MAX_CHUNK_SNAPSHOTS_PER_TICK so big autosaves don't make a tick spike.
+ * Only meant to be used from the server thread.
+ */
+public class ServerWorld implements WorldAccessor {
+    private final LongObjectHashMap<ServerChunk> chunks = new LongObjectHashMap<>(4096);
+    private final LongObjectHashMap<CompletableFuture<ChunkData>> pendingLoads = new LongObjectHashMap<>();
+    private final ChunkSource chunkSource;
+    private final Consumer<ChunkData> chunkSaver;
+    private final ArrayDeque<ServerChunk> autosaveQueue = new ArrayDeque<>();
+
+    private long currentTick = 0;
+
+    /**
+     * @param chunkSaver Receives the snapshots to save, must not block (e.g. RegionStorage::saveAsync).
+     */
+    public ServerWorld(ChunkSource chunkSource, Consumer<ChunkData> chunkSaver) {
+        this.chunkSource = chunkSource;
+        this.chunkSaver = chunkSaver;
+    }
+
+    public void tick(Collection<Connection> viewers) {
+        currentTick++;
+
+        collectLoaded();
+
+        int loadBudget = ServerConstants.MAX_CHUNK_LOADS_PER_TICK;
+        for (Connection viewer : viewers) {
+            if (viewer.getState() == Connection.State.PLAY) {
+                loadBudget = loadArea(viewer.getViewChunkX(), viewer.getViewChunkY(), viewer.getViewChunkZ(), viewer.getViewDistance(), loadBudget);
+            }
+        }
+
+        if (currentTick % ServerConstants.CHUNK_UNLOAD_CHECK_INTERVAL_TICKS == 0) {
+            unloadInactive();
+        }
+
+        if (currentTick % ServerConstants.AUTOSAVE_INTERVAL_TICKS == 0 && autosaveQueue.isEmpty()) {
+            for (ServerChunk chunk : chunks.values()) {
+                if (chunk.getChunkData().isDirty()) {
+                    autosaveQueue.add(chunk);
+                }
+            }
+        }
+
+        for (int i = 0; i < ServerConstants.MAX_CHUNK_SNAPSHOTS_PER_TICK && !autosaveQueue.isEmpty(); i++) {
+            save(autosaveQueue.poll()); // Already unloaded ones were saved then, they are clean
+        }
+    }
+
+    /**
+     * Hands a snapshot of the chunk to the saver, if it changed since the last one.
+     */
+    private void save(ServerChunk chunk) {
+        ChunkData snapshot = chunk.getChunkData().takeDirtySnapshot();
+        if (snapshot != null) {
+            chunkSaver.accept(snapshot);
+        }
+    }
+
+    /**
+     * Saves every changed chunk at once, for shutdown.
+     */
+    public void saveAll() {
+        autosaveQueue.clear();
+
+        for (ServerChunk chunk : chunks.values()) {
+            save(chunk);
+        }
+    }
+
+    /**
+     * Marks the chunks in the cube around the center as needed, loading the missing ones while the budget lasts.
+     * @return The remaining budget.
+     */
+    private int loadArea(int centerX, int centerY, int centerZ, int radius, int loadBudget) {
+        for (int cy = centerY - radius; cy <= centerY + radius; cy++) {
+            for (int cz = centerZ - radius; cz <= centerZ + radius; cz++) {
+                for (int cx = centerX - radius; cx <= centerX + radius; cx++) {
+                    long key = ChunkData.getPositionKey(cx, cy, cz);
+                    ServerChunk chunk = chunks.get(key);
+
+                    if (chunk != null) {
+                        chunk.markNeeded(currentTick);
+                    } else if (loadBudget > 0 && pendingLoads.size() < ServerConstants.MAX_PENDING_CHUNK_LOADS && !pendingLoads.containsKey(key)) {
+                        pendingLoads.put(key, chunkSource.load(cx, cy, cz));
+                        loadBudget--;
+                    }
+                }
+            }
+        }
+
+        return loadBudget;
+    }
+
+    /**
+     * Adds the chunks whose load finished.
+     */
+    private void collectLoaded() {
+        Iterator<LongObjectMap.PrimitiveEntry<CompletableFuture<ChunkData>>> iterator = pendingLoads.entries().iterator();
+        while (iterator.hasNext()) {
+            LongObjectMap.PrimitiveEntry<CompletableFuture<ChunkData>> entry = iterator.next();
+            CompletableFuture<ChunkData> load = entry.value();
+
+            if (!load.isDone()) {
+                continue;
+            }
+
+            iterator.remove();
+            try {
+                chunks.put(entry.key(), new ServerChunk(load.join(), currentTick));
+            } catch (CompletionException | CancellationException exception) {
+                Loggers.CHUNK.error("Could not load a chunk, it will be requested again.", exception);
+            }
+        }
+    }
+
+    private void unloadInactive() {
+        int unloaded = 0;
+
+        Iterator<LongObjectMap.PrimitiveEntry<ServerChunk>> iterator = chunks.entries().iterator();
+        while (iterator.hasNext()) {
+            ServerChunk chunk = iterator.next().value();
+
+            if (currentTick - chunk.getLastNeededTick() > ServerConstants.CHUNK_UNLOAD_TIMEOUT_TICKS) {
+                save(chunk);
+                iterator.remove();
+                unloaded++;
+            }
+        }
+
+        if (unloaded > 0) {
+            Loggers.CHUNK.debug("Unloaded {} inactive chunks, {} remain loaded", unloaded, chunks.size());
+        }
+    }
+
+    /**
+     * @return The chunk, loaded from the chunk source if it was not loaded yet.
+     * Blocks until the load finishes, tick code should rely on the view areas instead.
+     */
+    public ChunkData getOrLoadChunk(int chunkX, int chunkY, int chunkZ) {
+        long key = ChunkData.getPositionKey(chunkX, chunkY, chunkZ);
+
+        ServerChunk chunk = chunks.get(key);
+        if (chunk != null) {
+            chunk.markNeeded(currentTick);
+            return chunk.getChunkData();
+        }
+
+        CompletableFuture<ChunkData> load = pendingLoads.remove(key);
+        if (load == null) {
+            load = chunkSource.load(chunkX, chunkY, chunkZ);
+        }
+
+        chunk = new ServerChunk(load.join(), currentTick);
+        chunks.put(key, chunk);
+
+        return chunk.getChunkData();
+    }
+
+    @Override
+    @Nullable
+    public ChunkData getChunk(int chunkX, int chunkY, int chunkZ) {
+        ServerChunk chunk = chunks.get(ChunkData.getPositionKey(chunkX, chunkY, chunkZ));
+        return chunk != null ? chunk.getChunkData() : null;
+    }
+
+    /**
+     * Gets a block using world block coordinates.
+     * @return The block, AIR if the containing chunk is not loaded.
+     */
+    public BlockInstance getBlock(int x, int y, int z) {
+        ChunkData chunk = getChunk(Math.floorDiv(x, CHUNK_WIDTH), Math.floorDiv(y, CHUNK_HEIGHT), Math.floorDiv(z, CHUNK_DEPTH));
+        if (chunk == null) {
+            return Blocks.AIR.getDefaultState();
+        }
+
+        return chunk.getBlock(Math.floorMod(x, CHUNK_WIDTH), Math.floorMod(y, CHUNK_HEIGHT), Math.floorMod(z, CHUNK_DEPTH));
+    }
+
+    /**
+     * Sets a block using world block coordinates.
+     * @return false if the containing chunk is not loaded.
+     */
+    public boolean setBlock(int x, int y, int z, BlockInstance block) {
+        ServerChunk chunk = chunks.get(ChunkData.getPositionKey(Math.floorDiv(x, CHUNK_WIDTH), Math.floorDiv(y, CHUNK_HEIGHT), Math.floorDiv(z, CHUNK_DEPTH)));
+        if (chunk == null) {
+            return false;
+        }
+
+        chunk.markNeeded(currentTick);
+        return chunk.getChunkData().setBlock(Math.floorMod(x, CHUNK_WIDTH), Math.floorMod(y, CHUNK_HEIGHT), Math.floorMod(z, CHUNK_DEPTH), block);
+    }
+
+    public int getLoadedChunkCount() {
+        return chunks.size();
+    }
+
+    public long getCurrentTick() {
+        return currentTick;
+    }
+}
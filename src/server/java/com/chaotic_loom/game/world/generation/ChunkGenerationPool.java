@@ -0,0 +1,115 @@
+package com.chaotic_loom.game.world.generation;
+
+import com.chaotic_loom.game.core.Loggers;
+import com.chaotic_loom.game.world.ChunkData;
+import com.chaotic_loom.game.world.ChunkSource;
+
+import java.io.Closeable;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs a ChunkGenerator on a ForkJoinPool, as the ChunkSource of the chunks never saved.
+ *
+ * Every chunk is a task depending on the one generating its column: the first chunk requested in a column
+ * schedules the column, the rest of the column chain on the same future, so the column runs once and its
+ * chunks spread over every generation thread as soon as it completes. Finished columns stay cached
+ * (least recently used first out) for the chunks of the column requested later.
+ *
+ * Tasks only share the immutable column data, so throughput grows with the thread count and the result
+ * is the same for any amount of threads (see ChunkGenerator).
+ */
+public class ChunkGenerationPool<C> implements ChunkSource, Closeable {
+    public static final int MAX_CACHED_COLUMNS = 1024;
+
+    private final ChunkGenerator<C> generator;
+    private final ForkJoinPool pool;
+    private final Map<Long, CompletableFuture<C>> columns = new LinkedHashMap<>(64, 0.75f, true) { // Guarded by itself
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, CompletableFuture<C>> eldest) {
+            return size() > MAX_CACHED_COLUMNS;
+        }
+    };
+
+    /**
+     * @param threads Amount of generation threads.
+     */
+    public ChunkGenerationPool(ChunkGenerator<C> generator, int threads) {
+        this.generator = generator;
+        this.pool = new ForkJoinPool(
+                threads,
+                forkJoinPool -> {
+                    ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(forkJoinPool);
+                    thread.setName("WorldGen-" + thread.getPoolIndex());
+                    thread.setPriority(Thread.NORM_PRIORITY - 1); // The server thread comes first
+                    return thread;
+                },
+                (thread, exception) -> Loggers.CHUNK.error("Uncaught exception on {}", thread.getName(), exception),
+                true // FIFO, chunks get generated in the order they were requested
+        );
+    }
+
+    @Override
+    public CompletableFuture<ChunkData> load(int chunkX, int chunkY, int chunkZ) {
+        return getColumn(chunkX, chunkZ).thenApplyAsync(column -> generator.generateChunk(column, chunkX, chunkY, chunkZ), pool);
+    }
+
+    private CompletableFuture<C> getColumn(int chunkX, int chunkZ) {
+        long key = ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+        CompletableFuture<C> column;
+
+        synchronized (columns) {
+            column = columns.get(key);
+            if (column != null) {
+                return column;
+            }
+
+            column = CompletableFuture.supplyAsync(() -> generator.generateColumn(chunkX, chunkZ), pool);
+            columns.put(key, column);
+        }
+
+        // A failed column is generated again on the next request instead of failing every chunk of it
+        CompletableFuture<C> scheduled = column;
+        scheduled.whenComplete((result, exception) -> {
+            if (exception != null) {
+                synchronized (columns) {
+                    columns.remove(key, scheduled);
+                }
+            }
+        });
+
+        return column;
+    }
+
+    public ChunkGenerator<C> getGenerator() {
+        return generator;
+    }
+
+    public int getThreadCount() {
+        return pool.getParallelism();
+    }
+
+    /**
+     * Stops the generation threads, chunks still queued are never generated.
+     */
+    @Override
+    public void close() {
+        pool.shutdownNow();
+
+        try {
+            if (!pool.awaitTermination(5, TimeUnit.SECONDS)) {
+                Loggers.CHUNK.warn("World generation threads did not stop in time");
+            }
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+
+        synchronized (columns) {
+            columns.clear();
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.chaotic_loom.game.world.generation;
+
+import com.chaotic_loom.game.world.ChunkData;
+
+/**
+ * Generates chunks in two stages, run by ChunkGenerationPool:
+ * first the data shared by a whole column of chunks (e.g. its heightmap), once per column,
+ * then every chunk of the column from it.
+ *
+ * Both stages run concurrently on the generation threads, so implementations must be stateless or immutable.
+ * The output must depend only on the seed and the coordinates, never on which thread or in which order
+ * chunks are generated, so a world looks the same no matter how many threads generated it.
+ *
+ * @param <C> Data shared by the chunks of a column, must be immutable.
+ */
+public interface ChunkGenerator<C> {
+    /**
+     * @return The data shared by every chunk in the column at the given chunk X and Z.
+     */
+    C generateColumn(int chunkX, int chunkZ);
+
+    /**
+     * @param column The data of the column the chunk belongs to.
+     * @return A new chunk at the given chunk coordinates.
+     */
+    ChunkData generateChunk(C column, int chunkX, int chunkY, int chunkZ);
+}
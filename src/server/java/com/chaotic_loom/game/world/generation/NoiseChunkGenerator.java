@@ -0,0 +1,132 @@
+package com.chaotic_loom.game.world.generation;
+
+import com.chaotic_loom.game.registries.built_in.Blocks;
+import com.chaotic_loom.game.world.ChunkData;
+import com.chaotic_loom.game.world.components.BlockInstance;
+import com.chaotic_loom.game.world.components.PackedBitArray;
+import com.chaotic_loom.game.world.components.PalettedBlockStorage;
+
+import java.util.SplittableRandom;
+
+import static com.chaotic_loom.game.core.util.SharedConstants.*;
+
+/**
+ * Heightmap terrain: a few octaves of Perlin noise give the surface height of every block column,
+ * the top DIRT_DEPTH blocks under the surface are dirt, stone below and air above.
+ *
+ * Every octave gets its own noise seeded from the world seed, so the same seed always gives the same terrain.
+ */
+public class NoiseChunkGenerator implements ChunkGenerator<NoiseChunkGenerator.Heightmap> {
+    public static final int BASE_HEIGHT = 8; // Surface height where the noise is 0
+    public static final int DIRT_DEPTH = 3;
+
+    private static final int OCTAVES = 4;
+    private static final double BASE_FREQUENCY = 1.0 / 96; // Of the first octave, in blocks
+    private static final double AMPLITUDE = 24; // Of the first octave, in blocks
+
+    // Palette indices of the mixed chunks
+    private static final int AIR = 0, STONE = 1, DIRT = 2;
+
+    private final long seed;
+    private final PerlinNoise[] octaves = new PerlinNoise[OCTAVES];
+
+    /**
+     * Surface height of every block column in a chunk column, indexed by z * CHUNK_WIDTH + x.
+     */
+    public record Heightmap(int[] heights, int minHeight, int maxHeight) {
+        public int get(int x, int z) {
+            return heights[z * CHUNK_WIDTH + x];
+        }
+    }
+
+    public NoiseChunkGenerator(long seed) {
+        this.seed = seed;
+
+        SplittableRandom random = new SplittableRandom(seed);
+        for (int i = 0; i < OCTAVES; i++) {
+            octaves[i] = new PerlinNoise(random.nextLong());
+        }
+    }
+
+    @Override
+    public Heightmap generateColumn(int chunkX, int chunkZ) {
+        int[] heights = new int[CHUNK_WIDTH * CHUNK_DEPTH];
+        int minHeight = Integer.MAX_VALUE;
+        int maxHeight = Integer.MIN_VALUE;
+
+        for (int z = 0; z < CHUNK_DEPTH; z++) {
+            for (int x = 0; x < CHUNK_WIDTH; x++) {
+                int height = getSurfaceHeight(chunkX * CHUNK_WIDTH + x, chunkZ * CHUNK_DEPTH + z);
+                heights[z * CHUNK_WIDTH + x] = height;
+                minHeight = Math.min(minHeight, height);
+                maxHeight = Math.max(maxHeight, height);
+            }
+        }
+
+        return new Heightmap(heights, minHeight, maxHeight);
+    }
+
+    /**
+     * @return The Y of the topmost solid block at the given world block X and Z.
+     */
+    public int getSurfaceHeight(int blockX, int blockZ) {
+        double height = 0;
+        double frequency = BASE_FREQUENCY;
+        double amplitude = AMPLITUDE;
+
+        for (PerlinNoise octave : octaves) {
+            height += octave.sample(blockX * frequency, blockZ * frequency) * amplitude;
+            frequency *= 2;
+            amplitude *= 0.5;
+        }
+
+        return BASE_HEIGHT + (int) Math.floor(height);
+    }
+
+    @Override
+    public ChunkData generateChunk(Heightmap column, int chunkX, int chunkY, int chunkZ) {
+        int bottomY = chunkY * CHUNK_HEIGHT;
+        int topY = bottomY + CHUNK_HEIGHT - 1;
+
+        // Chunks fully above or under the surface layer are uniform, no indices needed
+        if (bottomY > column.maxHeight()) {
+            return new ChunkData(chunkX, chunkY, chunkZ);
+        }
+
+        if (topY <= column.minHeight() - DIRT_DEPTH) {
+            return new ChunkData(chunkX, chunkY, chunkZ, new PalettedBlockStorage(ChunkData.BLOCK_COUNT, Blocks.STONE.getDefaultState()));
+        }
+
+        BlockInstance[] palette = {Blocks.AIR.getDefaultState(), Blocks.STONE.getDefaultState(), Blocks.DIRT.getDefaultState()};
+        PackedBitArray indices = new PackedBitArray(PalettedBlockStorage.getBitsForPaletteSize(palette.length), ChunkData.BLOCK_COUNT);
+
+        for (int y = 0; y < CHUNK_HEIGHT; y++) {
+            int worldY = bottomY + y;
+
+            for (int z = 0; z < CHUNK_DEPTH; z++) {
+                for (int x = 0; x < CHUNK_WIDTH; x++) {
+                    int surface = column.get(x, z);
+
+                    int block;
+                    if (worldY > surface) {
+                        block = AIR;
+                    } else if (worldY > surface - DIRT_DEPTH) {
+                        block = DIRT;
+                    } else {
+                        block = STONE;
+                    }
+
+                    if (block != AIR) { // Indices start zeroed
+                        indices.set(ChunkData.getIndex(x, y, z), block);
+                    }
+                }
+            }
+        }
+
+        return new ChunkData(chunkX, chunkY, chunkZ, PalettedBlockStorage.of(ChunkData.BLOCK_COUNT, palette, indices));
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+}
@@ -0,0 +1,75 @@
+package com.chaotic_loom.game.world.generation;
+
+import java.util.SplittableRandom;
+
+/**
+ * 2D gradient (Perlin) noise with a permutation table shuffled from a seed.
+ * Values are roughly in [-1, 1] and depend only on the seed and the coordinates.
+ *
+ * Immutable after construction, safe to share between threads.
+ */
+public final class PerlinNoise {
+    private static final double[] GRADIENTS_X = {1, -1, 0, 0, 0.70710678, -0.70710678, 0.70710678, -0.70710678};
+    private static final double[] GRADIENTS_Z = {0, 0, 1, -1, 0.70710678, 0.70710678, -0.70710678, -0.70710678};
+
+    private final int[] permutation = new int[512]; // Doubled so lookups never wrap
+    private final double offsetX, offsetZ; // Keeps the origin of every seed off the lattice
+
+    public PerlinNoise(long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+
+        for (int i = 0; i < 256; i++) {
+            permutation[i] = i;
+        }
+
+        for (int i = 255; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = permutation[i];
+            permutation[i] = permutation[j];
+            permutation[j] = swap;
+        }
+
+        System.arraycopy(permutation, 0, permutation, 256, 256);
+
+        this.offsetX = random.nextDouble() * 256;
+        this.offsetZ = random.nextDouble() * 256;
+    }
+
+    public double sample(double x, double z) {
+        x += offsetX;
+        z += offsetZ;
+
+        double floorX = Math.floor(x);
+        double floorZ = Math.floor(z);
+        int cellX = (int) floorX & 255;
+        int cellZ = (int) floorZ & 255;
+        double localX = x - floorX;
+        double localZ = z - floorZ;
+
+        int corner00 = permutation[permutation[cellX] + cellZ];
+        int corner10 = permutation[permutation[cellX + 1] + cellZ];
+        int corner01 = permutation[permutation[cellX] + cellZ + 1];
+        int corner11 = permutation[permutation[cellX + 1] + cellZ + 1];
+
+        double fadeX = fade(localX);
+        double fadeZ = fade(localZ);
+
+        double bottom = lerp(fadeX, gradient(corner00, localX, localZ), gradient(corner10, localX - 1, localZ));
+        double top = lerp(fadeX, gradient(corner01, localX, localZ - 1), gradient(corner11, localX - 1, localZ - 1));
+
+        return lerp(fadeZ, bottom, top) * 1.41421356; // Scales the +-sqrt(0.5) range of 2D noise to +-1
+    }
+
+    private static double gradient(int hash, double x, double z) {
+        int index = hash & 7;
+        return GRADIENTS_X[index] * x + GRADIENTS_Z[index] * z;
+    }
+
+    private static double fade(double t) {
+        return t * t * t * (t * (t * 6 - 15) + 10);
+    }
+
+    private static double lerp(double t, double a, double b) {
+        return a + t * (b - a);
+    }
+}
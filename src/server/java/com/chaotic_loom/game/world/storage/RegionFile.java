@@ -0,0 +1,310 @@
+package com.chaotic_loom.game.world.storage;
+
+import com.chaotic_loom.game.core.Loggers;
+import com.chaotic_loom.game.networking.components.PacketBuffer;
+import com.chaotic_loom.game.world.ChunkData;
+import com.chaotic_loom.game.world.ChunkSerializer;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * A file holding a cube of REGION_SIZE^3 chunks.
+ *
+ * The file is split in SECTOR_SIZE sectors. The first HEADER_SECTORS hold the offset table, one int per chunk:
+ * first sector (upper 24 bits) and sector count (lower 8 bits), 0 if the chunk was never saved. The table is
+ * memory mapped, so opening a region only scans it to know the free sectors and reading a chunk is a single
+ * positional read of its sectors.
+ *
+ * Chunk entries: payload length (int), format version (byte), compression (byte), uncompressed length (int),
+ * then the chunk in the ChunkSerializer storage format.
+ *
+ * Writes never touch sectors the offset table on disk may point at: every write goes to a newly allocated run
+ * (the first free one, or the end of the file) and its table entry is only updated by flush(), after the data
+ * is forced to disk. The runs replaced are freed once the updated table is forced too, so a crash at any point
+ * leaves either the old or the new chunk, never a mix.
+ *
+ * Thread-safe, every access is synchronized on the file.
+ */
+public class RegionFile implements Closeable {
+    public static final int REGION_SIZE = 32; // Chunks per axis
+    public static final int SECTOR_SIZE = 4096;
+
+    private static final int CHUNK_COUNT = REGION_SIZE * REGION_SIZE * REGION_SIZE;
+    private static final int HEADER_SECTORS = CHUNK_COUNT * Integer.BYTES / SECTOR_SIZE;
+    private static final int MAX_SECTORS_PER_CHUNK = 0xFF;
+    private static final int ENTRY_HEADER_SIZE = Integer.BYTES + 1 + 1 + Integer.BYTES;
+
+    private static final byte FORMAT_VERSION = 1;
+
+    private static final byte COMPRESSION_NONE = 0;
+    private static final byte COMPRESSION_DEFLATE = 1;
+
+    private final Path path;
+    private final FileChannel channel;
+    private final MappedByteBuffer header;
+    private final BitSet usedSectors = new BitSet();
+    private final Map<Integer, Integer> pendingEntries = new HashMap<>(); // Offset table index -> entry written since the last flush
+    private final BitSet pendingFree = new BitSet(); // Replaced runs, freed by the next flush
+    private int sectorCount; // File size in sectors
+
+    private final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+    private final Inflater inflater = new Inflater();
+
+    public RegionFile(Path path) throws IOException {
+        this.path = path;
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.header = channel.map(FileChannel.MapMode.READ_WRITE, 0, (long) HEADER_SECTORS * SECTOR_SIZE); // Grows new files
+
+        this.sectorCount = (int) ((channel.size() + SECTOR_SIZE - 1) / SECTOR_SIZE);
+        usedSectors.set(0, HEADER_SECTORS);
+
+        for (int index = 0; index < CHUNK_COUNT; index++) {
+            int entry = header.getInt(index * Integer.BYTES);
+            if (entry == 0) {
+                continue;
+            }
+
+            int offset = entry >>> 8;
+            int count = entry & 0xFF;
+
+            if (offset < HEADER_SECTORS || count == 0 || offset + count > sectorCount) {
+                Loggers.CHUNK.warn("Region {}: invalid entry for chunk {}, dropping it.", path.getFileName(), index);
+                header.putInt(index * Integer.BYTES, 0);
+                continue;
+            }
+
+            usedSectors.set(offset, offset + count);
+        }
+    }
+
+    /**
+     * @return The chunk index inside its region, from chunk grid coordinates.
+     */
+    public static int getLocalIndex(int chunkX, int chunkY, int chunkZ) {
+        int x = Math.floorMod(chunkX, REGION_SIZE);
+        int y = Math.floorMod(chunkY, REGION_SIZE);
+        int z = Math.floorMod(chunkZ, REGION_SIZE);
+
+        return (y * REGION_SIZE + z) * REGION_SIZE + x;
+    }
+
+    public synchronized boolean contains(int chunkX, int chunkY, int chunkZ) {
+        return getEntry(getLocalIndex(chunkX, chunkY, chunkZ)) != 0;
+    }
+
+    /**
+     * @return The current entry of the chunk, including writes not flushed yet.
+     */
+    private int getEntry(int index) {
+        Integer pending = pendingEntries.get(index);
+        return pending != null ? pending : header.getInt(index * Integer.BYTES);
+    }
+
+    /**
+     * @return The saved chunk, or null if it was never saved.
+     * @throws IOException if the entry can't be read or is corrupted.
+     */
+    @Nullable
+    public synchronized ChunkData read(int chunkX, int chunkY, int chunkZ) throws IOException {
+        int entry = getEntry(getLocalIndex(chunkX, chunkY, chunkZ));
+        if (entry == 0) {
+            return null;
+        }
+
+        ByteBuffer data = ByteBuffer.allocate((entry & 0xFF) * SECTOR_SIZE);
+        readFully(data, (long) (entry >>> 8) * SECTOR_SIZE);
+        data.flip();
+
+        int length = data.getInt();
+        byte version = data.get();
+        byte compression = data.get();
+        int uncompressedLength = data.getInt();
+
+        if (length < ENTRY_HEADER_SIZE - Integer.BYTES || length > data.capacity() - Integer.BYTES || uncompressedLength < 0) {
+            throw new IOException("Corrupted entry for chunk " + chunkX + ", " + chunkY + ", " + chunkZ + " in " + path.getFileName());
+        }
+
+        if (version != FORMAT_VERSION) {
+            throw new IOException("Chunk " + chunkX + ", " + chunkY + ", " + chunkZ + " in " + path.getFileName() + " has unknown format version " + version);
+        }
+
+        data.limit(Integer.BYTES + length);
+        ByteBuf serialized = switch (compression) {
+            case COMPRESSION_NONE -> Unpooled.wrappedBuffer(data);
+            case COMPRESSION_DEFLATE -> inflate(data, uncompressedLength);
+            default -> throw new IOException("Unknown compression " + compression + " in " + path.getFileName());
+        };
+
+        ChunkData chunk;
+        try {
+            chunk = ChunkSerializer.readFromStorage(new PacketBuffer(serialized));
+        } catch (RuntimeException exception) {
+            throw new IOException("Corrupted chunk " + chunkX + ", " + chunkY + ", " + chunkZ + " in " + path.getFileName(), exception);
+        }
+
+        if (chunk.getChunkX() != chunkX || chunk.getChunkY() != chunkY || chunk.getChunkZ() != chunkZ) {
+            throw new IOException("Chunk " + chunkX + ", " + chunkY + ", " + chunkZ + " is stored as " + chunk.getChunkX() + ", " + chunk.getChunkY() + ", " + chunk.getChunkZ());
+        }
+
+        return chunk;
+    }
+
+    /**
+     * Writes the chunk to new sectors, it replaces the saved one on disk at the next flush().
+     */
+    public synchronized void write(ChunkData chunk) throws IOException {
+        ByteBuf serialized = Unpooled.buffer(1024);
+        ChunkSerializer.writeForStorage(chunk, new PacketBuffer(serialized));
+        int uncompressedLength = serialized.readableBytes();
+
+        ByteBuffer data = ByteBuffer.allocate(ENTRY_HEADER_SIZE + deflateBound(uncompressedLength));
+        data.position(ENTRY_HEADER_SIZE);
+
+        deflater.setInput(serialized.nioBuffer());
+        deflater.finish();
+        while (!deflater.finished()) {
+            if (!data.hasRemaining()) {
+                throw new IOException("Deflated chunk is bigger than its bound");
+            }
+            deflater.deflate(data);
+        }
+        deflater.reset();
+
+        int length = data.position() - Integer.BYTES;
+        data.putInt(0, length);
+        data.put(Integer.BYTES, FORMAT_VERSION);
+        data.put(Integer.BYTES + 1, COMPRESSION_DEFLATE);
+        data.putInt(Integer.BYTES + 2, uncompressedLength);
+        data.flip();
+
+        int sectorsNeeded = (data.remaining() + SECTOR_SIZE - 1) / SECTOR_SIZE;
+        if (sectorsNeeded > MAX_SECTORS_PER_CHUNK) {
+            throw new IOException("Chunk " + chunk.getChunkX() + ", " + chunk.getChunkY() + ", " + chunk.getChunkZ() + " needs " + sectorsNeeded + " sectors, the limit is " + MAX_SECTORS_PER_CHUNK);
+        }
+
+        int index = getLocalIndex(chunk.getChunkX(), chunk.getChunkY(), chunk.getChunkZ());
+        int previousSectorCount = sectorCount;
+        int offset = allocate(sectorsNeeded);
+        try {
+            writeFully(data, (long) offset * SECTOR_SIZE);
+        } catch (IOException exception) {
+            // Nothing references the run, free it for the next attempt
+            usedSectors.clear(offset, offset + sectorsNeeded);
+            sectorCount = previousSectorCount;
+            throw exception;
+        }
+
+        int previous = getEntry(index);
+        if (previous != 0) {
+            pendingFree.set(previous >>> 8, (previous >>> 8) + (previous & 0xFF)); // Still in use until the new entry is durable
+        }
+
+        pendingEntries.put(index, offset << 8 | sectorsNeeded);
+    }
+
+    /**
+     * @return The first sector of a free run of the given length, appended at the end if there is none.
+     */
+    private int allocate(int sectors) {
+        int start = usedSectors.nextClearBit(HEADER_SECTORS);
+
+        while (start < sectorCount) {
+            int end = usedSectors.nextSetBit(start);
+            if (end == -1 || end - start >= sectors) {
+                break;
+            }
+            start = usedSectors.nextClearBit(end);
+        }
+
+        usedSectors.set(start, start + sectors);
+        sectorCount = Math.max(sectorCount, start + sectors);
+
+        return start;
+    }
+
+    private ByteBuf inflate(ByteBuffer data, int uncompressedLength) throws IOException {
+        byte[] uncompressed = new byte[uncompressedLength];
+
+        try {
+            inflater.setInput(data);
+            int inflated = inflater.inflate(uncompressed);
+
+            if (inflated != uncompressedLength || !inflater.finished()) {
+                throw new IOException("Compressed chunk does not match its length in " + path.getFileName());
+            }
+        } catch (DataFormatException exception) {
+            throw new IOException("Corrupted compressed chunk in " + path.getFileName(), exception);
+        } finally {
+            inflater.reset();
+        }
+
+        return Unpooled.wrappedBuffer(uncompressed);
+    }
+
+    private static int deflateBound(int length) {
+        return length + (length >> 12) + (length >> 14) + (length >> 25) + 13 + 6; // zlib's compressBound plus the zlib header
+    }
+
+    private void readFully(ByteBuffer target, long position) throws IOException {
+        while (target.hasRemaining()) {
+            int read = channel.read(target, position);
+            if (read < 0) {
+                if (target.position() > 0) {
+                    return; // The last entry of the file does not fill its last sector
+                }
+                throw new EOFException("Chunk entry past the end of " + path.getFileName());
+            }
+            position += read;
+        }
+    }
+
+    private void writeFully(ByteBuffer source, long position) throws IOException {
+        while (source.hasRemaining()) {
+            position += channel.write(source, position);
+        }
+    }
+
+    /**
+     * Forces the written chunks to disk, then points the offset table at them and forces it too.
+     * Sectors of the replaced entries are reused only after that.
+     */
+    public synchronized void flush() throws IOException {
+        channel.force(false); // Data first, the table must never reference sectors not on disk yet
+
+        if (!pendingEntries.isEmpty()) {
+            for (Map.Entry<Integer, Integer> pending : pendingEntries.entrySet()) {
+                header.putInt(pending.getKey() * Integer.BYTES, pending.getValue());
+            }
+            pendingEntries.clear();
+        }
+
+        header.force();
+
+        usedSectors.andNot(pendingFree);
+        pendingFree.clear();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        flush();
+        channel.close();
+        deflater.end();
+        inflater.end();
+    }
+}
@@ -0,0 +1,301 @@
+package com.chaotic_loom.game.world.storage;
+
+import com.chaotic_loom.game.core.Loggers;
+import com.chaotic_loom.game.world.ChunkData;
+import com.chaotic_loom.game.world.ChunkSource;
+import io.netty.util.collection.LongObjectHashMap;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Chunk persistence on region files (see RegionFile), one file per region in the given directory.
+ *
+ * As a ChunkSource it reads saved chunks on its own I/O thread and asks the fallback source (the generator)
+ * for the ones never saved, or unreadable.
+ *
+ * Saves are asynchronous: saveAsync queues a snapshot and the WorldSaver thread writes the queued ones in
+ * batches, grouped by region, and forces them to disk at most every fsyncIntervalMillis. A chunk queued again
+ * before being written is written once, with its latest snapshot. Loads see queued snapshots, so a chunk
+ * unloaded and loaded back before its save lands is not read stale from disk. Snapshots that fail to be written
+ * are queued again, unless a newer one was queued meanwhile, and retried after RETRY_DELAY_MILLIS.
+ */
+public class RegionStorage implements ChunkSource, Closeable {
+    private static final long RETRY_DELAY_MILLIS = 1000;
+
+    private final Path directory;
+    private final ChunkSource fallback;
+    private final ExecutorService ioExecutor;
+    private final LongObjectHashMap<RegionFile> regions = new LongObjectHashMap<>(); // Guarded by itself
+
+    private final Thread saverThread;
+    private final long fsyncIntervalMillis;
+    private final Object saveLock = new Object();
+    private LongObjectHashMap<ChunkData> queuedSaves = new LongObjectHashMap<>(); // Guarded by saveLock
+    private LongObjectHashMap<ChunkData> writingSaves = new LongObjectHashMap<>(); // Batch being written, guarded by saveLock
+    private boolean closing = false; // Guarded by saveLock
+
+    /**
+     * @param fsyncIntervalMillis Minimum time between two forces of the written chunks to disk.
+     */
+    public RegionStorage(Path directory, ChunkSource fallback, long fsyncIntervalMillis) throws IOException {
+        this.directory = directory;
+        this.fallback = fallback;
+        this.fsyncIntervalMillis = fsyncIntervalMillis;
+        this.ioExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "WorldIO");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        Files.createDirectories(directory);
+
+        this.saverThread = new Thread(this::runSaver, "WorldSaver");
+        this.saverThread.setPriority(Thread.NORM_PRIORITY - 1); // The server thread comes first
+        this.saverThread.start();
+    }
+
+    @Override
+    public CompletableFuture<ChunkData> load(int chunkX, int chunkY, int chunkZ) {
+        return CompletableFuture.supplyAsync(() -> readOrNull(chunkX, chunkY, chunkZ), ioExecutor)
+                .thenCompose(chunk -> chunk != null ? CompletableFuture.completedFuture(chunk) : fallback.load(chunkX, chunkY, chunkZ));
+    }
+
+    @Nullable
+    private ChunkData readOrNull(int chunkX, int chunkY, int chunkZ) {
+        ChunkData unsaved = getUnsaved(ChunkData.getPositionKey(chunkX, chunkY, chunkZ));
+        if (unsaved != null) {
+            return unsaved.copy(); // The snapshot may still be written, the world gets its own copy
+        }
+
+        try {
+            return getRegion(chunkX, chunkY, chunkZ).read(chunkX, chunkY, chunkZ);
+        } catch (IOException exception) {
+            Loggers.CHUNK.error("Could not read chunk {}, {}, {}, it will be generated again.", chunkX, chunkY, chunkZ, exception);
+            return null;
+        }
+    }
+
+    @Nullable
+    private ChunkData getUnsaved(long key) {
+        synchronized (saveLock) {
+            ChunkData queued = queuedSaves.get(key);
+            return queued != null ? queued : writingSaves.get(key);
+        }
+    }
+
+    // --- Saving ---
+
+    /**
+     * Queues a snapshot to be written by the saver thread, replacing an older queued snapshot of the same chunk.
+     * @param snapshot A copy nobody modifies anymore (see ChunkData.takeDirtySnapshot).
+     */
+    public void saveAsync(ChunkData snapshot) {
+        synchronized (saveLock) {
+            if (closing) {
+                throw new IllegalStateException("The region storage is closed");
+            }
+
+            queuedSaves.put(ChunkData.getPositionKey(snapshot.getChunkX(), snapshot.getChunkY(), snapshot.getChunkZ()), snapshot);
+            saveLock.notifyAll();
+        }
+    }
+
+    private void runSaver() {
+        long lastFsync = System.currentTimeMillis();
+        boolean unsyncedWrites = false;
+
+        while (true) {
+            List<ChunkData> batch;
+
+            synchronized (saveLock) {
+                long waitMillis = unsyncedWrites ? Math.max(1, lastFsync + fsyncIntervalMillis - System.currentTimeMillis()) : 0;
+                if (queuedSaves.isEmpty() && !closing) {
+                    try {
+                        saveLock.wait(waitMillis); // 0 waits until notified
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        closing = true;
+                    }
+                }
+
+                if (queuedSaves.isEmpty() && closing && writingSaves.isEmpty()) {
+                    break;
+                }
+
+                // Swap the queue out, new saves go to a fresh map while this batch is written
+                LongObjectHashMap<ChunkData> swapped = writingSaves;
+                writingSaves = queuedSaves;
+                queuedSaves = swapped;
+                batch = new ArrayList<>(writingSaves.values());
+            }
+
+            if (!batch.isEmpty()) {
+                boolean failed = writeBatch(batch);
+                unsyncedWrites = true;
+
+                if (failed) {
+                    waitBeforeRetry();
+                }
+            }
+
+            synchronized (saveLock) {
+                writingSaves.clear();
+            }
+
+            if (unsyncedWrites && System.currentTimeMillis() - lastFsync >= fsyncIntervalMillis) {
+                fsync();
+                lastFsync = System.currentTimeMillis();
+                unsyncedWrites = false;
+            }
+        }
+
+        fsync();
+    }
+
+    /**
+     * @return True if some chunk could not be written, they are queued again.
+     */
+    private boolean writeBatch(List<ChunkData> batch) {
+        // Same region (and then same file area) back to back, each region is resolved and locked once in a row
+        batch.sort(Comparator.comparingLong(RegionStorage::getRegionKey).thenComparingInt(chunk -> RegionFile.getLocalIndex(chunk.getChunkX(), chunk.getChunkY(), chunk.getChunkZ())));
+
+        boolean failed = false;
+        for (ChunkData chunk : batch) {
+            try {
+                save(chunk);
+            } catch (IOException exception) {
+                failed = true;
+                requeue(chunk, exception);
+            }
+        }
+
+        return failed;
+    }
+
+    /**
+     * Queues a snapshot that failed to be written again, its dirty flag is already cleared so it's the only copy of
+     * the changes. A newer snapshot of the same chunk already queued replaces it. Once closing they are dropped,
+     * retrying forever would keep the server from stopping.
+     */
+    private void requeue(ChunkData chunk, IOException exception) {
+        long key = ChunkData.getPositionKey(chunk.getChunkX(), chunk.getChunkY(), chunk.getChunkZ());
+
+        synchronized (saveLock) {
+            if (closing) {
+                Loggers.CHUNK.error("Could not save chunk {}, {}, {} while closing, its changes are lost.", chunk.getChunkX(), chunk.getChunkY(), chunk.getChunkZ(), exception);
+                return;
+            }
+
+            Loggers.CHUNK.error("Could not save chunk {}, {}, {}, retrying later.", chunk.getChunkX(), chunk.getChunkY(), chunk.getChunkZ(), exception);
+            if (queuedSaves.get(key) == null) {
+                queuedSaves.put(key, chunk);
+            }
+        }
+    }
+
+    private void waitBeforeRetry() {
+        synchronized (saveLock) {
+            if (closing) {
+                return;
+            }
+
+            try {
+                saveLock.wait(RETRY_DELAY_MILLIS); // Woken up early by new saves or close()
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                closing = true;
+            }
+        }
+    }
+
+    private void fsync() {
+        try {
+            flush();
+        } catch (IOException exception) {
+            Loggers.CHUNK.error("Could not force the region files to disk", exception);
+        }
+    }
+
+    /**
+     * Writes the chunk to its region file, on the calling thread.
+     */
+    public void save(ChunkData chunk) throws IOException {
+        getRegion(chunk.getChunkX(), chunk.getChunkY(), chunk.getChunkZ()).write(chunk);
+    }
+
+    private static long getRegionKey(ChunkData chunk) {
+        return ChunkData.getPositionKey(
+                Math.floorDiv(chunk.getChunkX(), RegionFile.REGION_SIZE),
+                Math.floorDiv(chunk.getChunkY(), RegionFile.REGION_SIZE),
+                Math.floorDiv(chunk.getChunkZ(), RegionFile.REGION_SIZE)
+        );
+    }
+
+    private RegionFile getRegion(int chunkX, int chunkY, int chunkZ) throws IOException {
+        int regionX = Math.floorDiv(chunkX, RegionFile.REGION_SIZE);
+        int regionY = Math.floorDiv(chunkY, RegionFile.REGION_SIZE);
+        int regionZ = Math.floorDiv(chunkZ, RegionFile.REGION_SIZE);
+        long key = ChunkData.getPositionKey(regionX, regionY, regionZ);
+
+        synchronized (regions) {
+            RegionFile region = regions.get(key);
+            if (region == null) {
+                region = new RegionFile(directory.resolve("r." + regionX + "." + regionY + "." + regionZ + ".region"));
+                regions.put(key, region);
+            }
+            return region;
+        }
+    }
+
+    /**
+     * Forces every open region to disk.
+     */
+    public void flush() throws IOException {
+        synchronized (regions) {
+            for (RegionFile region : regions.values()) {
+                region.flush();
+            }
+        }
+    }
+
+    /**
+     * Writes every queued save, waits for the pending reads and closes every region file.
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (saveLock) {
+            closing = true;
+            saveLock.notifyAll();
+        }
+
+        ioExecutor.shutdown();
+
+        try {
+            saverThread.join();
+
+            if (!ioExecutor.awaitTermination(5, TimeUnit.SECONDS)) {
+                Loggers.CHUNK.warn("RegionStorage: Pending reads did not finish in time.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        synchronized (regions) {
+            for (RegionFile region : regions.values()) {
+                region.close();
+            }
+            regions.clear();
+        }
+    }
+}